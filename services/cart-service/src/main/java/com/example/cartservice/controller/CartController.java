@@ -15,6 +15,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.math.RoundingMode;
@@ -112,6 +113,18 @@ public class CartController {
         return ResponseEntity.ok(cartService.removeFromCart(userId, tableName, itemId));
     }
     
+    @DeleteMapping("/items")
+    public ResponseEntity<CartResponse> removeItemsFromCart(
+            Authentication authentication,
+            @RequestParam("itemIds") List<Long> itemIds,
+            @RequestHeader(value = "X-Table-Name", required = false) String tableName,
+            @RequestHeader(value = "X-User-Id", required = false) String userIdHeader) {
+
+        Long userId = resolveUserId(authentication, userIdHeader);
+
+        return ResponseEntity.ok(cartService.removeItemsFromCart(userId, tableName, itemIds));
+    }
+
     @DeleteMapping
     public ResponseEntity<CartResponse> clearCart(Authentication authentication,
                                                   @RequestHeader(value = "X-Table-Name", required = false) String tableName,
@@ -5,6 +5,8 @@ import com.example.cartservice.dto.CartResponse;
 import com.example.cartservice.dto.CheckoutResponse;
 import com.example.cartservice.dto.UpdateCartItemRequest;
 
+import java.util.Collection;
+
 public interface CartService {
     CartResponse openCart(Long userId, String tableName);
     CartResponse getCart(Long userId, String tableName);
@@ -12,6 +14,7 @@ public interface CartService {
     CartResponse addToCart(Long userId, String tableName, AddToCartRequest request);
     CartResponse updateCartItem(Long userId, String tableName, Long itemId, UpdateCartItemRequest request);
     CartResponse removeFromCart(Long userId, String tableName, Long itemId);
+    CartResponse removeItemsFromCart(Long userId, String tableName, Collection<Long> itemIds);
     CartResponse clearCart(Long userId, String tableName);
     CheckoutResponse checkout(Long userId, String tableName);
 }
\ No newline at end of file
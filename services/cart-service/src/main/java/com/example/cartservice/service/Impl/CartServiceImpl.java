@@ -4,6 +4,7 @@ import com.example.cartservice.dto.AddToCartRequest;
 import com.example.cartservice.dto.CartResponse;
 import com.example.cartservice.dto.CheckoutResponse;
 import com.example.cartservice.dto.UpdateCartItemRequest;
+import com.example.cartservice.exception.ResourceNotFoundException;
 import com.example.cartservice.model.RedisCart;
 import com.example.cartservice.service.CartService;
 import com.example.cartservice.service.store.CartStore;
@@ -20,6 +21,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -146,6 +148,19 @@ public class CartServiceImpl implements CartService {
         return toCartResponse(cart);
     }
 
+    @Override
+    public CartResponse removeItemsFromCart(Long userId, String tableName, Collection<Long> itemIds) {
+        String key = cartKey(userId, tableName);
+        RedisCart cart = cartStore.load(key);
+        if (cart == null) throw new ResourceNotFoundException("Cart not found");
+
+        // Items no longer in the cart are skipped, so repeating the call is harmless
+        cart.getItems().removeIf(i -> itemIds.contains(i.getMenuItemId()));
+        cart.recalc();
+        cartStore.save(key, cart);
+        return toCartResponse(cart);
+    }
+
     @Override
     public CartResponse clearCart(Long userId, String tableName) {
         String key = cartKey(userId, tableName);
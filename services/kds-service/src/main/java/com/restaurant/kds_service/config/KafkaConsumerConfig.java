@@ -0,0 +1,53 @@
+package com.restaurant.kds_service.config;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JacksonJsonDeserializer;
+
+import com.restaurant.kds_service.dto.OrderChangeEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Kafka Consumer configuration for the order change feed published by Order Service
+ * Only active when order-events.enabled=true
+ */
+@Configuration
+@ConditionalOnProperty(name = "order-events.enabled", havingValue = "true", matchIfMissing = false)
+public class KafkaConsumerConfig {
+
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+
+    @Bean
+    public ConsumerFactory<String, OrderChangeEvent> orderEventConsumerFactory() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        // Every KDS instance keeps its own board, so missed history is covered by reconciliation polling
+        configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JacksonJsonDeserializer.class);
+        configProps.put(JacksonJsonDeserializer.TRUSTED_PACKAGES, "*");
+        configProps.put(JacksonJsonDeserializer.VALUE_DEFAULT_TYPE, OrderChangeEvent.class.getName());
+        configProps.put(JacksonJsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+        return new DefaultKafkaConsumerFactory<>(configProps);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, OrderChangeEvent> orderEventListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, OrderChangeEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(orderEventConsumerFactory());
+        return factory;
+    }
+}
@@ -1,5 +1,6 @@
 package com.restaurant.kds_service.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -7,16 +8,27 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
 import org.springframework.kafka.core.ProducerFactory;
-import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.support.serializer.JacksonJsonSerializer;
 
+import com.restaurant.events.FileSchemaRegistry;
 import com.restaurant.kds_service.dto.OrderReadyEvent;
+import com.restaurant.kds_service.serialization.OrderReadyEventAvroSerializer;
 
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Kafka Producer configuration for publishing order-ready events
+ *
+ * The producer is idempotent (acks=all, bounded in-flight requests), so broker retries neither
+ * lose nor duplicate or reorder events. Sends are batched for kafka.producer.linger-ms and
+ * compressed. Kafka client metrics (kafka.producer.*) are exported through Micrometer.
+ *
+ * kafka.serialization.format selects the payload encoding: json (default) or avro, a compact
+ * binary encoding with schemas from kafka.serialization.schema-location. Waiter Service reads
+ * both and is built with the same schema files (shared/order-events).
  */
 @Configuration
 public class KafkaProducerConfig {
@@ -25,18 +37,43 @@ public class KafkaProducerConfig {
     private String bootstrapServers;
 
     @Bean
-    public ProducerFactory<String, OrderReadyEvent> producerFactory() {
+    public ProducerFactory<String, OrderReadyEvent> producerFactory(
+            MeterRegistry meterRegistry,
+            @Value("${kafka.producer.linger-ms:10}") int lingerMs,
+            @Value("${kafka.producer.batch-size:32768}") int batchSize,
+            @Value("${kafka.producer.compression-type:lz4}") String compressionType,
+            @Value("${kafka.producer.max-in-flight:5}") int maxInFlight,
+            @Value("${kafka.producer.delivery-timeout-ms:30000}") int deliveryTimeoutMs,
+            @Value("${kafka.producer.max-block-ms:5000}") long maxBlockMs,
+            @Value("${kafka.serialization.format:json}") String serializationFormat,
+            @Value("${kafka.serialization.schema-location:classpath*:avro/}") String schemaLocation) {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        configProps.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
-        return new DefaultKafkaProducerFactory<>(configProps);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JacksonJsonSerializer.class);
+        configProps.put(JacksonJsonSerializer.ADD_TYPE_INFO_HEADERS, false);
+
+        // Idempotence requires acks=all and at most 5 in-flight requests per connection
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, Math.min(maxInFlight, 5));
+        configProps.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, deliveryTimeoutMs);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        // Sends run on kitchen action threads; don't block them for long if Kafka is down
+        configProps.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlockMs);
+
+        DefaultKafkaProducerFactory<String, OrderReadyEvent> factory = new DefaultKafkaProducerFactory<>(configProps);
+        if ("avro".equalsIgnoreCase(serializationFormat)) {
+            factory.setValueSerializer(new OrderReadyEventAvroSerializer(new FileSchemaRegistry(schemaLocation)));
+        }
+        factory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return factory;
     }
 
     @Bean
-    public KafkaTemplate<String, OrderReadyEvent> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+    public KafkaTemplate<String, OrderReadyEvent> kafkaTemplate(ProducerFactory<String, OrderReadyEvent> producerFactory) {
+        return new KafkaTemplate<>(producerFactory);
     }
 }
-
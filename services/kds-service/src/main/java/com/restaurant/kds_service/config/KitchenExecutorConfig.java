@@ -0,0 +1,58 @@
+package com.restaurant.kds_service.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor for kitchen actions (status updates sent to Order Service)
+ *
+ * Kitchen endpoints hand the Order Service call to this executor and return the request thread
+ * right away, so a slow Order Service no longer ties up the threads that serve the board and the
+ * SSE streams.
+ *
+ * By default every action runs on its own virtual thread: waiting on Order Service costs no
+ * platform thread, so concurrency is not limited by a thread pool. It is still capped by the
+ * Order Service connection pool (http-client.max-connections-per-route minus one connection kept
+ * free for polling), since more calls would only fail after http-client.pool-timeout-ms; extra
+ * actions wait for a permit instead.
+ *
+ * kitchen-executor.virtual-threads=false falls back to a platform thread pool of the same size.
+ */
+@Configuration
+public class KitchenExecutorConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(KitchenExecutorConfig.class);
+    private static final int CONNECTIONS_RESERVED_FOR_POLLING = 1;
+
+    @Bean(name = "kitchenExecutor")
+    public AsyncTaskExecutor kitchenExecutor(
+            @Value("${kitchen-executor.virtual-threads:true}") boolean virtualThreads,
+            @Value("${kitchen-executor.queue-capacity:1000}") int queueCapacity,
+            @Value("${http-client.max-connections-per-route:64}") int maxConnectionsPerRoute) {
+        int concurrency = Math.max(1, maxConnectionsPerRoute - CONNECTIONS_RESERVED_FOR_POLLING);
+
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("kitchen-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(concurrency);
+            logger.info("Kitchen actions run on virtual threads (max concurrency: {})", concurrency);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("kitchen-");
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        logger.info("Kitchen actions run on a pool of {} threads (queue: {})", concurrency, queueCapacity);
+        return executor;
+    }
+}
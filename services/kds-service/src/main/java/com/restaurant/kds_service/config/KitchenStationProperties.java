@@ -0,0 +1,26 @@
+package com.restaurant.kds_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Kitchen stations and the menu items they prepare
+ *
+ * kitchen-stations:
+ *   stations:
+ *     grill: [1, 2, 7]
+ *     fryer: [3, 4]
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "kitchen-stations")
+public class KitchenStationProperties {
+
+    // Station name -> menu item ids (OrderItem.itemId) prepared there
+    private Map<String, Set<Long>> stations = new LinkedHashMap<>();
+}
@@ -0,0 +1,37 @@
+package com.restaurant.kds_service.config;
+
+import com.restaurant.kds_service.service.AdaptivePollingInterval;
+import com.restaurant.kds_service.service.OrderPollingService;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import java.time.Instant;
+
+/**
+ * Schedules Order Service polling with a delay recomputed after every poll
+ * (see AdaptivePollingInterval) instead of a fixed @Scheduled delay
+ * With spring.threads.virtual.enabled the scheduler starts every run on a new virtual thread
+ */
+@Configuration
+public class PollingSchedulerConfig implements SchedulingConfigurer {
+
+    private final OrderPollingService orderPollingService;
+    private final AdaptivePollingInterval pollingInterval;
+
+    public PollingSchedulerConfig(OrderPollingService orderPollingService, AdaptivePollingInterval pollingInterval) {
+        this.orderPollingService = orderPollingService;
+        this.pollingInterval = pollingInterval;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addTriggerTask(orderPollingService::pollActiveOrders, context -> {
+            Instant lastCompletion = context.lastCompletion();
+            if (lastCompletion == null) {
+                return Instant.now();
+            }
+            return lastCompletion.plusMillis(pollingInterval.nextDelayMs());
+        });
+    }
+}
@@ -7,17 +7,11 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
-import org.springframework.data.redis.serializer.StringRedisSerializer;
-
-import com.restaurant.kds_service.dto.KitchenOrderResponse;
-
-import java.util.List;
+import org.springframework.data.redis.core.StringRedisTemplate;
 
 /**
- * Optional Redis cache configuration
- * Redis is used as a cache ONLY, not as a source of truth
+ * Optional Redis configuration
+ * Redis holds the board shared between KDS replicas, not the source of truth
  */
 @Configuration
 @ConditionalOnProperty(name = "redis.enabled", havingValue = "true", matchIfMissing = false)
@@ -35,13 +29,12 @@ public class RedisConfig {
         return new LettuceConnectionFactory(config);
     }
 
+    /**
+     * Plain string template; the shared board (see RedisBoardStore) stores order JSON itself
+     */
     @Bean
-    public RedisTemplate<String, List<KitchenOrderResponse>> redisTemplate(RedisConnectionFactory connectionFactory) {
-        RedisTemplate<String, List<KitchenOrderResponse>> template = new RedisTemplate<>();
-        template.setConnectionFactory(connectionFactory);
-        template.setKeySerializer(new StringRedisSerializer());
-        template.setValueSerializer(new GenericJackson2JsonRedisSerializer());
-        return template;
+    public StringRedisTemplate stringRedisTemplate(RedisConnectionFactory connectionFactory) {
+        return new StringRedisTemplate(connectionFactory);
     }
 }
 
@@ -1,7 +1,17 @@
 package com.restaurant.kds_service.config;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
@@ -10,20 +20,66 @@ import org.springframework.web.client.RestTemplate;
 /**
  * Configuration for REST client to communicate with Order Service via API Gateway
  * Uses Apache HttpClient5 to support PATCH HTTP method
+ *
+ * Connections are pooled and reused, and every call is bounded by connect, pool-wait and
+ * response timeouts. Pool (httpcomponents.httpclient.pool.*) and request latency
+ * (http.client.requests) metrics are exported through Micrometer.
  */
 @Configuration
 public class RestClientConfig {
 
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager httpConnectionManager(
+            @Value("${http-client.max-connections:100}") int maxConnections,
+            @Value("${http-client.max-connections-per-route:64}") int maxConnectionsPerRoute,
+            @Value("${http-client.connect-timeout-ms:2000}") long connectTimeoutMs,
+            @Value("${http-client.read-timeout-ms:5000}") long readTimeoutMs,
+            @Value("${http-client.connection-ttl-ms:300000}") long connectionTtlMs) {
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                .setTimeToLive(TimeValue.ofMilliseconds(connectionTtlMs))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build();
+
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(connectionConfig)
+                .build();
+    }
+
+    @Bean
+    public MeterBinder httpConnectionPoolMetrics(PoolingHttpClientConnectionManager httpConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(httpConnectionManager, "order-service");
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
+    public RestTemplate restTemplate(
+            PoolingHttpClientConnectionManager httpConnectionManager,
+            ObservationRegistry observationRegistry,
+            @Value("${http-client.pool-timeout-ms:1000}") long poolTimeoutMs,
+            @Value("${http-client.read-timeout-ms:5000}") long readTimeoutMs,
+            @Value("${http-client.idle-eviction-ms:30000}") long idleEvictionMs) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolTimeoutMs))
+                .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                .build();
+
         // Create Apache HttpClient5 which supports PATCH
-        CloseableHttpClient httpClient = HttpClients.createDefault();
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(httpConnectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleEvictionMs))
+                .build();
 
         // Configure RestTemplate to use Apache HttpClient
         HttpComponentsClientHttpRequestFactory factory =
             new HttpComponentsClientHttpRequestFactory(httpClient);
 
-        return new RestTemplate(factory);
+        RestTemplate restTemplate = new RestTemplate(factory);
+        restTemplate.setObservationRegistry(observationRegistry);
+        return restTemplate;
     }
 }
-
@@ -1,14 +1,27 @@
 package com.restaurant.kds_service.controller;
 
+import com.restaurant.kds_service.dto.BatchUpdateOrderStatusRequest;
 import com.restaurant.kds_service.dto.KitchenOrderResponse;
+import com.restaurant.kds_service.dto.KitchenStatsResponse;
+import com.restaurant.kds_service.service.BoardResponseCache;
+import com.restaurant.kds_service.service.KitchenBoardStreamService;
 import com.restaurant.kds_service.service.KitchenService;
-import com.restaurant.kds_service.service.OrderPollingService;
+import com.restaurant.kds_service.service.KitchenStationRouter;
+import com.restaurant.kds_service.service.TicketTimingService;
+import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * REST Controller for Kitchen Display System
@@ -21,24 +34,108 @@ public class KitchenController {
 
     private static final Logger logger = LoggerFactory.getLogger(KitchenController.class);
 
-    private final OrderPollingService orderPollingService;
     private final KitchenService kitchenService;
+    private final KitchenBoardStreamService kitchenBoardStreamService;
+    private final BoardResponseCache boardResponseCache;
+    private final TicketTimingService ticketTimingService;
+    private final KitchenStationRouter stationRouter;
 
-    public KitchenController(OrderPollingService orderPollingService, KitchenService kitchenService) {
-        this.orderPollingService = orderPollingService;
+    public KitchenController(KitchenService kitchenService,
+                             KitchenBoardStreamService kitchenBoardStreamService,
+                             BoardResponseCache boardResponseCache,
+                             TicketTimingService ticketTimingService,
+                             KitchenStationRouter stationRouter) {
         this.kitchenService = kitchenService;
+        this.kitchenBoardStreamService = kitchenBoardStreamService;
+        this.boardResponseCache = boardResponseCache;
+        this.ticketTimingService = ticketTimingService;
+        this.stationRouter = stationRouter;
     }
 
     /**
      * Get all active orders for kitchen display
-     * Data source: Redis cache (if enabled) then In-memory cache then Empty list
+     * Served from the pre-serialized board (plain or gzip); 304 if If-None-Match matches the board version
+     * With ?station=grill only that station's orders and items are returned
      */
     @GetMapping("/orders")
-    public ResponseEntity<List<KitchenOrderResponse>> getActiveOrders() {
-        logger.info("GET /api/kitchen/orders - Fetching active orders");
-        List<KitchenOrderResponse> orders = orderPollingService.getActiveOrders();
-        logger.info("Returning {} active orders", orders.size());
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<byte[]> getActiveOrders(
+            @RequestParam(value = "station", required = false) String station,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        if (station != null && !stationRouter.isKnownStation(station)) {
+            logger.warn("GET /api/kitchen/orders - Unknown station: {}", station);
+            return ResponseEntity.notFound().build();
+        }
+        BoardResponseCache.CachedBoard board = boardResponseCache.current(station);
+
+        if (ifNoneMatch != null && ifNoneMatch.contains(board.eTag())) {
+            logger.debug("GET /api/kitchen/orders - Not modified (ETag {})", board.eTag());
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(board.eTag())
+                    .build();
+        }
+
+        logger.debug("GET /api/kitchen/orders - Returning {} active orders", board.orderCount());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(board.eTag())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(board.gzipped());
+        }
+        return response.body(board.json());
+    }
+
+    /**
+     * Whether Accept-Encoding allows gzip: listed (or covered by "*") with a q-value above 0
+     * "gzip;q=0" explicitly refuses gzip, even if "*" is also listed
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double wildcardQuality = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.length() > 2 && param.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                gzipQuality = quality;
+            } else if (name.equals("*")) {
+                wildcardQuality = quality;
+            }
+        }
+        Double quality = gzipQuality != null ? gzipQuality : wildcardQuality;
+        return quality != null && quality > 0;
+    }
+
+    /**
+     * Stream the kitchen board as Server-Sent Events
+     * Sends a "snapshot" of all active orders on connect, then only
+     * "order-added", "order-updated" and "order-removed" events
+     * With ?station=grill only that station's orders and items are streamed
+     */
+    @GetMapping(value = "/orders/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamActiveOrders(
+            @RequestParam(value = "station", required = false) String station) {
+        if (station != null && !stationRouter.isKnownStation(station)) {
+            logger.warn("GET /api/kitchen/orders/stream - Unknown station: {}", station);
+            return ResponseEntity.notFound().build();
+        }
+        logger.info("GET /api/kitchen/orders/stream - Kitchen screen subscribing to board updates (station: {})",
+                station != null ? station : "all");
+        return ResponseEntity.ok(kitchenBoardStreamService.subscribe(station));
     }
 
     /**
@@ -47,47 +144,93 @@ public class KitchenController {
      * 1. Update Order Service status to READY
      * 2. If successful then Publish Kafka event
      * 3. If failed then Return error (no Kafka event)
+     * The request thread is released while Order Service is called (see KitchenExecutorConfig)
      */
     @PostMapping("/orders/{orderId}/ready")
-    public ResponseEntity<KitchenOrderResponse> markOrderReady(
+    public CompletableFuture<ResponseEntity<KitchenOrderResponse>> markOrderReady(
             @PathVariable Long orderId,
             @RequestHeader(value = "X-User-Id", required = false) String userId,
             @RequestHeader(value = "X-Table-Id", required = false) String tableId) {
         logger.info("POST /api/kitchen/orders/{}/ready - Marking order as READY (userId: {}, tableId: {})",
                 orderId, userId, tableId);
-        KitchenOrderResponse updatedOrder = kitchenService.markOrderAsReady(orderId, userId, tableId);
-        logger.info("Order {} marked as READY successfully", orderId);
-        return ResponseEntity.ok(updatedOrder);
+        return kitchenService.markOrderAsReadyAsync(orderId, userId, tableId).thenApply(updatedOrder -> {
+            logger.info("Order {} marked as READY successfully", orderId);
+            return ResponseEntity.ok(updatedOrder);
+        });
     }
 
     /**
      * Change order status to PREPARING
      */
     @PostMapping("/orders/{orderId}/preparing")
-    public ResponseEntity<KitchenOrderResponse> markOrderPreparing(
+    public CompletableFuture<ResponseEntity<KitchenOrderResponse>> markOrderPreparing(
             @PathVariable Long orderId,
             @RequestHeader(value = "X-User-Id", required = false) String userId,
             @RequestHeader(value = "X-Table-Id", required = false) String tableId) {
         logger.info("POST /api/kitchen/orders/{}/preparing - Marking order as PREPARING (userId: {}, tableId: {})",
                 orderId, userId, tableId);
-        KitchenOrderResponse updatedOrder = kitchenService.updateOrderStatus(orderId, "PREPARING", userId, tableId);
-        logger.info("Order {} marked as PREPARING successfully", orderId);
-        return ResponseEntity.ok(updatedOrder);
+        return kitchenService.updateOrderStatusAsync(orderId, "PREPARING", userId, tableId).thenApply(updatedOrder -> {
+            logger.info("Order {} marked as PREPARING successfully", orderId);
+            return ResponseEntity.ok(updatedOrder);
+        });
     }
 
     /**
      * Change order status to CREATED
      */
     @PostMapping("/orders/{orderId}/created")
-    public ResponseEntity<KitchenOrderResponse> markOrderCreated(
+    public CompletableFuture<ResponseEntity<KitchenOrderResponse>> markOrderCreated(
             @PathVariable Long orderId,
             @RequestHeader(value = "X-User-Id", required = false) String userId,
             @RequestHeader(value = "X-Table-Id", required = false) String tableId) {
         logger.info("POST /api/kitchen/orders/{}/created - Marking order as CREATED (userId: {}, tableId: {})",
                 orderId, userId, tableId);
-        KitchenOrderResponse updatedOrder = kitchenService.updateOrderStatus(orderId, "CREATED", userId, tableId);
-        logger.info("Order {} marked as CREATED successfully", orderId);
-        return ResponseEntity.ok(updatedOrder);
+        return kitchenService.updateOrderStatusAsync(orderId, "CREATED", userId, tableId).thenApply(updatedOrder -> {
+            logger.info("Order {} marked as CREATED successfully", orderId);
+            return ResponseEntity.ok(updatedOrder);
+        });
+    }
+
+    /**
+     * Move several orders to the same status at once (e.g. PREPARING or READY)
+     * Order Service applies the whole batch in one transaction: all orders change or none do
+     */
+    @PostMapping("/orders/batch-status")
+    public CompletableFuture<ResponseEntity<List<KitchenOrderResponse>>> updateOrderStatuses(
+            @Valid @RequestBody BatchUpdateOrderStatusRequest request,
+            @RequestHeader(value = "X-User-Id", required = false) String userId,
+            @RequestHeader(value = "X-Table-Id", required = false) String tableId) {
+        logger.info("POST /api/kitchen/orders/batch-status - Marking {} orders as {} (userId: {}, tableId: {})",
+                request.getOrderIds().size(), request.getStatus(), userId, tableId);
+        return kitchenService.updateOrderStatusesAsync(request.getOrderIds(), request.getStatus(), userId, tableId)
+                .thenApply(updatedOrders -> {
+                    logger.info("{} orders marked as {} successfully", updatedOrders.size(), request.getStatus());
+                    return ResponseEntity.ok(updatedOrders);
+                });
+    }
+
+    /**
+     * Ticket timing statistics: rolling p50/p95/p99 per stage (queue wait, prep time, ready to served)
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<KitchenStatsResponse> getStats() {
+        logger.debug("GET /api/kitchen/stats - Returning ticket timing statistics");
+        return ResponseEntity.ok(ticketTimingService.getStats());
+    }
+
+    /**
+     * Order Service rejected a kitchen action (404 unknown order, 409 the order has already moved on, ...)
+     * The same status and body are returned so screens can refresh instead of showing a server error
+     */
+    @ExceptionHandler(HttpClientErrorException.class)
+    public ResponseEntity<String> handleOrderServiceRejection(HttpClientErrorException e) {
+        logger.info("Kitchen action rejected by Order Service: {}", e.getStatusCode());
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(e.getStatusCode());
+        MediaType contentType = e.getResponseHeaders() != null ? e.getResponseHeaders().getContentType() : null;
+        if (contentType != null) {
+            response.contentType(contentType);
+        }
+        return response.body(e.getResponseBodyAsString());
     }
 
     /**
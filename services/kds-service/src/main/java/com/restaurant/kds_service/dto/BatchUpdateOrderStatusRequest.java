@@ -0,0 +1,25 @@
+package com.restaurant.kds_service.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request to move several orders to the same status at once
+ * Forwarded to Order Service as one batch (all orders change or none do)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchUpdateOrderStatusRequest {
+
+    @NotEmpty(message = "At least one order id is required")
+    private List<Long> orderIds;
+
+    @NotNull(message = "Status is required")
+    private String status;
+}
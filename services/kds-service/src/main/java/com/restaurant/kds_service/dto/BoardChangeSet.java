@@ -0,0 +1,51 @@
+package com.restaurant.kds_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Orders added, changed and removed between two board snapshots
+ */
+@Getter
+@AllArgsConstructor
+public class BoardChangeSet {
+
+    private final long fromVersion;
+    private final long toVersion;
+    private final List<KitchenOrderResponse> added;
+    private final List<KitchenOrderResponse> changed;
+    private final List<Long> removedIds;
+
+    public static BoardChangeSet between(BoardSnapshot previous, BoardSnapshot current) {
+        List<KitchenOrderResponse> added = new ArrayList<>();
+        List<KitchenOrderResponse> changed = new ArrayList<>();
+        List<Long> removedIds = new ArrayList<>();
+
+        Map<Long, KitchenOrderResponse> before = previous.getOrdersById();
+        for (KitchenOrderResponse order : current.getOrders()) {
+            KitchenOrderResponse old = before.get(order.getId());
+            if (old == null) {
+                added.add(order);
+            } else if (!Objects.equals(old, order)) {
+                changed.add(order);
+            }
+        }
+        for (Long orderId : before.keySet()) {
+            if (!current.getOrdersById().containsKey(orderId)) {
+                removedIds.add(orderId);
+            }
+        }
+
+        return new BoardChangeSet(previous.getVersion(), current.getVersion(),
+                List.copyOf(added), List.copyOf(changed), List.copyOf(removedIds));
+    }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && changed.isEmpty() && removedIds.isEmpty();
+    }
+}
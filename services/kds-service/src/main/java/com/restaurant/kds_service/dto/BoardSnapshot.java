@@ -0,0 +1,48 @@
+package com.restaurant.kds_service.dto;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable state of the kitchen board at one version
+ * Orders are keyed by id and ordered oldest first (createdAt, then id)
+ */
+@Getter
+public class BoardSnapshot {
+
+    private static final Comparator<KitchenOrderResponse> OLDEST_FIRST = Comparator
+            .comparing(KitchenOrderResponse::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(KitchenOrderResponse::getId);
+
+    private final long version;
+    private final Map<Long, KitchenOrderResponse> ordersById;
+    private final List<KitchenOrderResponse> orders;
+
+    private BoardSnapshot(long version, Collection<KitchenOrderResponse> orders) {
+        List<KitchenOrderResponse> sorted = orders.stream().sorted(OLDEST_FIRST).toList();
+        Map<Long, KitchenOrderResponse> byId = new LinkedHashMap<>();
+        sorted.forEach(order -> byId.put(order.getId(), order));
+
+        this.version = version;
+        this.ordersById = Collections.unmodifiableMap(byId);
+        this.orders = sorted;
+    }
+
+    public static BoardSnapshot empty() {
+        return new BoardSnapshot(0, List.of());
+    }
+
+    public static BoardSnapshot of(long version, Collection<KitchenOrderResponse> orders) {
+        return new BoardSnapshot(version, orders);
+    }
+
+    public int size() {
+        return orders.size();
+    }
+}
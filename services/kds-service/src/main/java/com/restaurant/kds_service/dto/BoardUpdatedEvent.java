@@ -0,0 +1,16 @@
+package com.restaurant.kds_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Application event published by OrderPollingService whenever the kitchen board changes
+ * Carries the new immutable snapshot and what changed since the previous one
+ */
+@Getter
+@AllArgsConstructor
+public class BoardUpdatedEvent {
+
+    private final BoardSnapshot snapshot;
+    private final BoardChangeSet changes;
+}
@@ -24,6 +24,9 @@ public class KitchenOrderResponse implements Serializable {
     private BigDecimal totalAmount;
     private LocalDateTime createdAt;
     private List<OrderItem> items;
+    private LocalDateTime updatedAt;
+    // Order Service's per-order version; a higher version is a newer state of the order
+    private Long version;
 
     @Data
     @NoArgsConstructor
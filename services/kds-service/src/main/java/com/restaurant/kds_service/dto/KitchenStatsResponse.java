@@ -0,0 +1,34 @@
+package com.restaurant.kds_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Kitchen ticket timing statistics (GET /api/kitchen/stats)
+ * Percentiles cover the last windowMinutes; counts are since startup
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KitchenStatsResponse {
+
+    private long windowMinutes;
+    // queue-wait, prep-time, ready-to-served
+    private Map<String, StageStats> stages;
+    // Tickets currently in each stage
+    private Map<String, Long> openTickets;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StageStats {
+        private long count;
+        private double p50Seconds;
+        private double p95Seconds;
+        private double p99Seconds;
+        private double maxSeconds;
+    }
+}
@@ -0,0 +1,27 @@
+package com.restaurant.kds_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Order change event consumed from Order Service's order-events topic
+ * Published whenever an order is created or its status changes
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderChangeEvent implements Serializable {
+
+    private String eventType;
+    private Long orderId;
+    private Long tableId;
+    private Long userId;
+    private String previousStatus;
+    private String status;
+    private KitchenOrderResponse order;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,22 @@
+package com.restaurant.kds_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A ticket's stage timestamps as tracked by TicketTimingService
+ * Persisted with the board so tickets open across a restart still get their stage timings
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderTiming {
+    private Instant createdAt;
+    private Instant preparingAt;
+    private Instant readyAt;
+    private Instant leftBoardAt;
+    private Instant lastChangeAt;
+}
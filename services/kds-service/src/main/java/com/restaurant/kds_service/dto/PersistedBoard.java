@@ -0,0 +1,22 @@
+package com.restaurant.kds_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * On-disk format of the board snapshot file (see BoardSnapshotStore)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersistedBoard {
+    private long version;
+    private Instant savedAt;
+    private List<KitchenOrderResponse> orders;
+    private Map<Long, OrderTiming> timings;
+}
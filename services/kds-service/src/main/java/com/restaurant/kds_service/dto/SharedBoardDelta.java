@@ -0,0 +1,24 @@
+package com.restaurant.kds_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Changes read from the shared Redis board since a reader's last version
+ * If full is set, upserts is the whole board and the reader replaces its copy
+ */
+@Getter
+@AllArgsConstructor
+public class SharedBoardDelta {
+
+    private final long version;
+    private final boolean full;
+    private final List<KitchenOrderResponse> upserts;
+    private final List<Long> removedIds;
+
+    public boolean isEmpty() {
+        return !full && upserts.isEmpty() && removedIds.isEmpty();
+    }
+}
@@ -0,0 +1,107 @@
+package com.restaurant.kds_service.serialization;
+
+import com.restaurant.events.FileSchemaRegistry;
+import com.restaurant.kds_service.dto.OrderReadyEvent;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Avro binary serializer for order-ready events (kafka.serialization.format=avro)
+ *
+ * Writes the latest order-ready schema from the FileSchemaRegistry and puts its id in the
+ * schema-id record header; the payload itself carries no field names. readyAt is encoded as
+ * local-timestamp-millis.
+ */
+public class OrderReadyEventAvroSerializer implements Serializer<OrderReadyEvent> {
+
+    public static final String SCHEMA_ID_HEADER = "schema-id";
+    public static final String SUBJECT = "order-ready";
+
+    private final String schemaId;
+    private final byte[] schemaIdHeader;
+    private final Schema schema;
+    private final Schema itemSchema;
+    private final GenericDatumWriter<GenericRecord> writer;
+
+    public OrderReadyEventAvroSerializer(FileSchemaRegistry schemaRegistry) {
+        this.schemaId = schemaRegistry.getLatestId(SUBJECT);
+        this.schemaIdHeader = schemaId.getBytes(StandardCharsets.UTF_8);
+        this.schema = schemaRegistry.getSchema(schemaId).orElseThrow();
+        this.itemSchema = schema.getField("items").schema().getElementType();
+        this.writer = new GenericDatumWriter<>(schema);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, OrderReadyEvent event) {
+        if (event == null) {
+            return null;
+        }
+        headers.remove(SCHEMA_ID_HEADER);
+        headers.add(SCHEMA_ID_HEADER, schemaIdHeader);
+        return encode(event);
+    }
+
+    /**
+     * Payload only. The Kafka producer always calls the headers variant; other callers have to send
+     * getSchemaId() in the schema-id header themselves, or consumers read the record as JSON and fail.
+     */
+    @Override
+    public byte[] serialize(String topic, OrderReadyEvent event) {
+        return event != null ? encode(event) : null;
+    }
+
+    public String getSchemaId() {
+        return schemaId;
+    }
+
+    public byte[] encode(OrderReadyEvent event) {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+            BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(out, null);
+            writer.write(toRecord(event), encoder);
+            encoder.flush();
+            return out.toByteArray();
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Failed to encode order-ready event " + event.getOrderId(), e);
+        }
+    }
+
+    private GenericRecord toRecord(OrderReadyEvent event) {
+        List<GenericRecord> items = new ArrayList<>();
+        if (event.getItems() != null) {
+            for (OrderReadyEvent.OrderItem item : event.getItems()) {
+                GenericRecord itemRecord = new GenericData.Record(itemSchema);
+                itemRecord.put("itemName", item.getItemName());
+                itemRecord.put("quantity", item.getQuantity());
+                items.add(itemRecord);
+            }
+        }
+
+        GenericRecord record = new GenericData.Record(schema);
+        record.put("orderId", event.getOrderId());
+        record.put("tableId", event.getTableId());
+        record.put("items", items);
+        record.put("readyAt", toEpochMillis(event.getReadyAt()));
+        return record;
+    }
+
+    // local-timestamp-millis: the local date-time as if it were UTC, no zone conversion
+    private static Long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toInstant(ZoneOffset.UTC).toEpochMilli() : null;
+    }
+}
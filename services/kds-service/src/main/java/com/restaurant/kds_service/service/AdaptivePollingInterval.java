@@ -0,0 +1,117 @@
+package com.restaurant.kds_service.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Delay between polls of Order Service
+ *
+ * - Burst: polling.min-interval-ms for polling.burst-window-ms after the board changed or a cook acted
+ * - Normal: polling.interval-ms
+ * - Idle: polling.max-interval-ms once nothing changed for polling.idle-after-ms
+ * - Errors: polling.interval-ms doubled per consecutive failure up to polling.max-backoff-ms,
+ *   with jitter so replicas restarting together don't retry in lockstep
+ */
+@Component
+public class AdaptivePollingInterval {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptivePollingInterval.class);
+
+    private final long baseIntervalMs;
+    private final long minIntervalMs;
+    private final long maxIntervalMs;
+    private final long maxBackoffMs;
+    private final long burstWindowMs;
+    private final long idleAfterMs;
+
+    private volatile long lastActivityAt = System.currentTimeMillis();
+    private volatile int consecutiveFailures = 0;
+    private volatile boolean standby = false;
+    private volatile long currentIntervalMs;
+
+    public AdaptivePollingInterval(
+            MeterRegistry meterRegistry,
+            @Value("${polling.interval-ms:3000}") long baseIntervalMs,
+            @Value("${polling.min-interval-ms:1000}") long minIntervalMs,
+            @Value("${polling.max-interval-ms:15000}") long maxIntervalMs,
+            @Value("${polling.max-backoff-ms:60000}") long maxBackoffMs,
+            @Value("${polling.burst-window-ms:30000}") long burstWindowMs,
+            @Value("${polling.idle-after-ms:300000}") long idleAfterMs) {
+        this.baseIntervalMs = baseIntervalMs;
+        this.minIntervalMs = Math.min(minIntervalMs, baseIntervalMs);
+        this.maxIntervalMs = Math.max(maxIntervalMs, baseIntervalMs);
+        this.maxBackoffMs = Math.max(maxBackoffMs, baseIntervalMs);
+        this.burstWindowMs = burstWindowMs;
+        this.idleAfterMs = idleAfterMs;
+        this.currentIntervalMs = baseIntervalMs;
+
+        Gauge.builder("kds.polling.interval", this, AdaptivePollingInterval::getCurrentIntervalMs)
+                .description("Current delay between polls of Order Service")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The board changed or a cook acted on an order; poll at the burst rate for a while
+     */
+    public void recordActivity() {
+        lastActivityAt = System.currentTimeMillis();
+    }
+
+    public void recordSuccess() {
+        standby = false;
+        if (consecutiveFailures > 0) {
+            logger.info("Order Service reachable again after {} failed polls", consecutiveFailures);
+            consecutiveFailures = 0;
+        }
+    }
+
+    public void recordFailure() {
+        standby = false;
+        consecutiveFailures++;
+    }
+
+    /**
+     * This replica is not polling (another replica is the poller leader); keep checking at the
+     * normal rate so it can take over within one interval
+     */
+    public void recordStandby() {
+        standby = true;
+        consecutiveFailures = 0;
+    }
+
+    public long nextDelayMs() {
+        long delay;
+        int failures = consecutiveFailures;
+        long sinceActivity = System.currentTimeMillis() - lastActivityAt;
+        if (standby) {
+            delay = baseIntervalMs;
+        } else if (failures > 0) {
+            long backoff = Math.min(maxBackoffMs, baseIntervalMs << Math.min(failures - 1, 20));
+            delay = ThreadLocalRandom.current().nextLong(backoff / 2, backoff + 1);
+        } else if (sinceActivity < burstWindowMs) {
+            delay = minIntervalMs;
+        } else if (sinceActivity >= idleAfterMs) {
+            delay = maxIntervalMs;
+        } else {
+            delay = baseIntervalMs;
+        }
+
+        if (delay != currentIntervalMs) {
+            logger.debug("Polling interval {}ms -> {}ms (failures: {}, last activity {}ms ago)",
+                    currentIntervalMs, delay, failures, sinceActivity);
+        }
+        currentIntervalMs = delay;
+        return delay;
+    }
+
+    public long getCurrentIntervalMs() {
+        return currentIntervalMs;
+    }
+}
@@ -0,0 +1,91 @@
+package com.restaurant.kds_service.service;
+
+import com.restaurant.kds_service.dto.BoardSnapshot;
+import com.restaurant.kds_service.dto.KitchenOrderResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized GET /api/kitchen/orders responses, built once per board version (and station)
+ *
+ * Every screen gets the same bytes (plain or gzip) until the board changes, so serialization
+ * cost follows the change rate rather than the request rate. The ETag is the board version,
+ * prefixed with this instance's start time so versions from before a restart never match.
+ */
+@Service
+public class BoardResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoardResponseCache.class);
+
+    private static final String FULL_BOARD = "";
+
+    private final OrderPollingService orderPollingService;
+    private final KitchenStationRouter stationRouter;
+    private final JsonMapper jsonMapper;
+    private final String instanceId = Long.toString(System.currentTimeMillis(), 36);
+
+    // Station name (or FULL_BOARD) -> last serialized view
+    private final Map<String, CachedBoard> cached = new ConcurrentHashMap<>();
+
+    public BoardResponseCache(OrderPollingService orderPollingService, KitchenStationRouter stationRouter,
+                              JsonMapper jsonMapper) {
+        this.orderPollingService = orderPollingService;
+        this.stationRouter = stationRouter;
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * Board as seen by the station (see KitchenStationRouter), or the full board if station is null
+     */
+    public CachedBoard current(String station) {
+        BoardSnapshot snapshot = orderPollingService.getBoardSnapshot();
+        String key = station != null ? station : FULL_BOARD;
+        CachedBoard current = cached.get(key);
+        if (current != null && current.version() == snapshot.getVersion()) {
+            return current;
+        }
+
+        // Serializes at most once per key and version; other keys are not blocked
+        return cached.compute(key, (k, previous) -> previous != null && previous.version() == snapshot.getVersion()
+                ? previous
+                : serialize(snapshot, station));
+    }
+
+    private CachedBoard serialize(BoardSnapshot snapshot, String station) {
+        List<KitchenOrderResponse> orders = station != null
+                ? stationRouter.ordersFor(snapshot, station)
+                : snapshot.getOrders();
+        byte[] json = jsonMapper.writeValueAsBytes(orders);
+        byte[] gzipped = gzip(json);
+        String eTag = "\"" + instanceId + "-" + snapshot.getVersion() + (station != null ? "-" + station : "") + "\"";
+        logger.debug("Serialized board version {} (station: {}) - {} bytes, {} gzipped",
+                snapshot.getVersion(), station != null ? station : "all", json.length, gzipped.length);
+        return new CachedBoard(snapshot.getVersion(), eTag, json, gzipped, orders.size());
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Arrays are shared between requests and must not be modified
+     */
+    public record CachedBoard(long version, String eTag, byte[] json, byte[] gzipped, int orderCount) {
+    }
+}
@@ -0,0 +1,137 @@
+package com.restaurant.kds_service.service;
+
+import com.restaurant.kds_service.dto.BoardUpdatedEvent;
+import com.restaurant.kds_service.dto.PersistedBoard;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Persists the kitchen board and the open ticket timings (TicketTimingService) to a local file on every change,
+ * so a restarted KDS shows the last known board immediately instead of an empty one.
+ *
+ * Writes go to a temp file that is atomically moved over the snapshot, so a crash mid-write
+ * leaves the previous snapshot intact. Bursts of changes are coalesced into one write.
+ * The restored board is only a warm start; the first poll reconciles it with Order Service.
+ */
+@Service
+public class BoardSnapshotStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoardSnapshotStore.class);
+
+    private final JsonMapper jsonMapper;
+    private final TicketTimingService ticketTimingService;
+    private final boolean enabled;
+    private final Path snapshotFile;
+    private final Duration maxAge;
+
+    private final AtomicReference<PersistedBoard> pendingWrite = new AtomicReference<>();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "kds-board-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public BoardSnapshotStore(
+            JsonMapper jsonMapper,
+            TicketTimingService ticketTimingService,
+            @Value("${board-snapshot.enabled:true}") boolean enabled,
+            @Value("${board-snapshot.file:data/kds-board.json}") String snapshotFile,
+            @Value("${board-snapshot.max-age-ms:43200000}") long maxAgeMs) {
+        this.jsonMapper = jsonMapper;
+        this.ticketTimingService = ticketTimingService;
+        this.enabled = enabled;
+        this.snapshotFile = Paths.get(snapshotFile);
+        this.maxAge = Duration.ofMillis(maxAgeMs);
+    }
+
+    /**
+     * Last persisted board, if there is one that is recent enough to show
+     * Its ticket timings are handed to TicketTimingService
+     */
+    public Optional<PersistedBoard> load() {
+        if (!enabled || !Files.exists(snapshotFile)) {
+            return Optional.empty();
+        }
+
+        try {
+            PersistedBoard board = jsonMapper.readValue(snapshotFile.toFile(), PersistedBoard.class);
+            if (board.getSavedAt() == null || board.getSavedAt().isBefore(Instant.now().minus(maxAge))) {
+                logger.info("Ignoring stale board snapshot saved at {}", board.getSavedAt());
+                return Optional.empty();
+            }
+            if (board.getTimings() != null) {
+                ticketTimingService.restore(board.getTimings());
+            }
+            logger.info("Loaded board snapshot with {} orders (version {}, saved at {})",
+                    board.getOrders().size(), board.getVersion(), board.getSavedAt());
+            return Optional.of(board);
+        } catch (Exception e) {
+            logger.warn("Failed to read board snapshot {} (starting empty): {}", snapshotFile, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Called in board order (OrderPollingService serializes writers)
+     */
+    @EventListener
+    public void onBoardUpdated(BoardUpdatedEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        // Timings are taken when the file is written, so they include this update's transitions
+        PersistedBoard board = new PersistedBoard(event.getSnapshot().getVersion(), Instant.now(),
+                event.getSnapshot().getOrders(), null);
+        // Only schedule a write if none is pending; the pending one will pick up this board
+        if (pendingWrite.getAndSet(board) == null) {
+            writer.execute(this::writePending);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        writer.shutdown();
+        writer.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private void writePending() {
+        PersistedBoard board = pendingWrite.getAndSet(null);
+        if (board == null) {
+            return;
+        }
+
+        try {
+            board.setTimings(ticketTimingService.exportTimings());
+            Path directory = snapshotFile.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path tempFile = Files.createTempFile(directory, "kds-board", ".tmp");
+            try {
+                jsonMapper.writeValue(tempFile.toFile(), board);
+                Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+            logger.debug("Saved board snapshot version {} ({} orders)", board.getVersion(), board.getOrders().size());
+        } catch (Exception e) {
+            logger.warn("Failed to save board snapshot (non-critical): {}", e.getMessage());
+        }
+    }
+}
@@ -1,17 +1,33 @@
 package com.restaurant.kds_service.service;
 
 import com.restaurant.kds_service.dto.OrderReadyEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service responsible for publishing order-ready events to Kafka
+ *
+ * Events that Kafka does not acknowledge (after the producer's own retries, within
+ * kafka.producer.delivery-timeout-ms) are written to OrderReadyRetryBuffer and replayed
+ * until they are acknowledged.
+ *
+ * Delivery is at-least-once. A replay that times out may still be retrying inside the producer
+ * and succeed later, and the file is sent again next round anyway; a lost acknowledgement has the
+ * same effect. Consumers must tolerate repeated order ids (Waiter Service drops them).
  */
 @Service
 public class KafkaPublisherService {
@@ -19,13 +35,42 @@ public class KafkaPublisherService {
     private static final Logger logger = LoggerFactory.getLogger(KafkaPublisherService.class);
 
     private final KafkaTemplate<String, OrderReadyEvent> kafkaTemplate;
+    private final OrderReadyRetryBuffer retryBuffer;
     private final String orderReadyTopic;
+    private final long replayTimeoutMs;
+
+    private final Timer deliveryTimer;
+    private final Counter acknowledgedCounter;
+    private final Counter failedCounter;
+    private final Counter replayedCounter;
 
     public KafkaPublisherService(
             KafkaTemplate<String, OrderReadyEvent> kafkaTemplate,
-            @Value("${kafka.topic.order-ready}") String orderReadyTopic) {
+            OrderReadyRetryBuffer retryBuffer,
+            MeterRegistry meterRegistry,
+            @Value("${kafka.topic.order-ready}") String orderReadyTopic,
+            @Value("${order-ready-retry.replay-timeout-ms:10000}") long replayTimeoutMs) {
         this.kafkaTemplate = kafkaTemplate;
+        this.retryBuffer = retryBuffer;
         this.orderReadyTopic = orderReadyTopic;
+        this.replayTimeoutMs = replayTimeoutMs;
+
+        this.deliveryTimer = Timer.builder("kds.order-ready.delivery")
+                .description("Time from send to Kafka acknowledgement of order-ready events")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.acknowledgedCounter = Counter.builder("kds.order-ready.published")
+                .description("Order-ready events by publish outcome")
+                .tag("outcome", "acknowledged")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("kds.order-ready.published")
+                .description("Order-ready events by publish outcome")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+        this.replayedCounter = Counter.builder("kds.order-ready.published")
+                .description("Order-ready events by publish outcome")
+                .tag("outcome", "replayed")
+                .register(meterRegistry);
     }
 
     /**
@@ -36,23 +81,69 @@ public class KafkaPublisherService {
         logger.info("Publishing order-ready event to Kafka - orderId: {}, tableId: {}",
                 event.getOrderId(), event.getTableId());
 
+        long startedAt = System.nanoTime();
         try {
             CompletableFuture<SendResult<String, OrderReadyEvent>> future =
                     kafkaTemplate.send(orderReadyTopic, event.getOrderId().toString(), event);
 
             future.whenComplete((result, ex) -> {
                 if (ex == null) {
+                    deliveryTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                    acknowledgedCounter.increment();
                     logger.info("Order-ready event published successfully - orderId: {}, offset: {}",
                             event.getOrderId(), result.getRecordMetadata().offset());
                 } else {
                     logger.error("Failed to publish order-ready event - orderId: {}, error: {}",
                             event.getOrderId(), ex.getMessage(), ex);
+                    onSendFailed(event);
                 }
             });
         } catch (Exception e) {
             logger.error("Exception while publishing order-ready event - orderId: {}",
                     event.getOrderId(), e);
+            onSendFailed(event);
         }
     }
-}
 
+    /**
+     * Replay buffered events oldest first; stop at the first failure and try again next round
+     */
+    @Scheduled(fixedDelayString = "${order-ready-retry.interval-ms:10000}")
+    public void replayBufferedEvents() {
+        List<Path> files = retryBuffer.list();
+        if (files.isEmpty()) {
+            return;
+        }
+
+        logger.info("Replaying {} buffered order-ready events", files.size());
+        int replayed = 0;
+        for (Path file : files) {
+            Optional<OrderReadyEvent> event = retryBuffer.read(file);
+            if (event.isEmpty()) {
+                continue;
+            }
+
+            try {
+                kafkaTemplate.send(orderReadyTopic, event.get().getOrderId().toString(), event.get())
+                        .get(replayTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.warn("Kafka still unavailable, {} order-ready events left in the retry buffer: {}",
+                        retryBuffer.size(), e.getMessage());
+                return;
+            }
+
+            retryBuffer.remove(file);
+            replayedCounter.increment();
+            replayed++;
+        }
+        logger.info("Replayed {} buffered order-ready events", replayed);
+    }
+
+    private void onSendFailed(OrderReadyEvent event) {
+        failedCounter.increment();
+        retryBuffer.store(event);
+    }
+}
@@ -0,0 +1,251 @@
+package com.restaurant.kds_service.service;
+
+import com.restaurant.kds_service.dto.BoardChangeSet;
+import com.restaurant.kds_service.dto.BoardSnapshot;
+import com.restaurant.kds_service.dto.BoardUpdatedEvent;
+import com.restaurant.kds_service.dto.KitchenOrderResponse;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Streams the kitchen board to screens over Server-Sent Events
+ *
+ * A new subscriber gets a "snapshot" event with the full board, then only changes:
+ * "order-added", "order-updated" (order JSON) and "order-removed" ({"id": ...}).
+ * Change sets come from OrderPollingService and are turned into events on one dispatcher thread,
+ * so every screen sees the snapshot and the changes in the same order they were applied to the board.
+ * Event ids are board versions.
+ *
+ * Each screen has its own bounded queue, drained by a sender task of its own, so a slow or stuck
+ * screen never delays the others. A screen whose queue fills up (kitchen-stream.max-queued-events)
+ * is dropped; it reconnects and starts over from a fresh snapshot.
+ *
+ * Screens subscribed to a station only get that station's view (see KitchenStationRouter):
+ * orders without the station's items are left out, and orders carry only the station's items.
+ */
+@Service
+public class KitchenBoardStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(KitchenBoardStreamService.class);
+    private static final String ALL_STATIONS = "";
+
+    private final KitchenStationRouter stationRouter;
+    private final long emitterTimeoutMs;
+    private final int maxQueuedEvents;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "kds-board-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Runs the per-screen sender tasks, one virtual thread each: a send blocked on a stuck screen
+    // only parks its own thread, and a burst of reconnecting screens starts no platform threads
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("kds-board-stream-sender-", 0).factory());
+
+    // Board as last sent to the screens; only touched on the dispatcher thread
+    private BoardSnapshot streamedBoard;
+
+    public KitchenBoardStreamService(
+            OrderPollingService orderPollingService,
+            KitchenStationRouter stationRouter,
+            @Value("${kitchen-stream.timeout-ms:1800000}") long emitterTimeoutMs,
+            @Value("${kitchen-stream.max-queued-events:256}") int maxQueuedEvents) {
+        this.stationRouter = stationRouter;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.maxQueuedEvents = maxQueuedEvents;
+        // Starts from the restored board (if any); later boards arrive as BoardUpdatedEvents
+        this.streamedBoard = orderPollingService.getBoardSnapshot();
+    }
+
+    /**
+     * Subscribe to the station's view of the board, or to the full board if station is null
+     */
+    public SseEmitter subscribe(String station) {
+        SseEmitter emitter = newEmitter();
+        Subscriber subscriber = new Subscriber(emitter, station, new ArrayBlockingQueue<>(maxQueuedEvents));
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(error -> close(subscriber));
+
+        dispatcher.execute(() -> {
+            // Queued before any change is, so the snapshot always goes out first
+            enqueue(subscriber, SseEmitter.event()
+                    .id(String.valueOf(streamedBoard.getVersion()))
+                    .name("snapshot")
+                    .data(station != null ? stationRouter.ordersFor(streamedBoard, station) : streamedBoard.getOrders())
+                    .build());
+            subscribers.add(subscriber);
+            logger.info("Kitchen screen subscribed to board stream (station: {}, {} connected)",
+                    station != null ? station : "all", subscribers.size());
+        });
+        return emitter;
+    }
+
+    /**
+     * Emitter for a new screen; tests override it to see what each screen is sent
+     */
+    SseEmitter newEmitter() {
+        return new SseEmitter(emitterTimeoutMs);
+    }
+
+    @EventListener
+    public void onBoardUpdated(BoardUpdatedEvent event) {
+        dispatcher.execute(() -> broadcastChanges(event.getSnapshot(), event.getChanges()));
+    }
+
+    /**
+     * Comment line that keeps idle connections open through proxies and detects dead screens
+     */
+    @Scheduled(fixedDelayString = "${kitchen-stream.heartbeat-ms:15000}")
+    public void sendHeartbeat() {
+        dispatcher.execute(() -> {
+            Set<ResponseBodyEmitter.DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+            subscribers.forEach(subscriber -> enqueue(subscriber, heartbeat));
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter().complete());
+    }
+
+    private void broadcastChanges(BoardSnapshot snapshot, BoardChangeSet changes) {
+        BoardSnapshot previous = streamedBoard;
+        streamedBoard = snapshot;
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<Subscriber>> byStation = new HashMap<>();
+        subscribers.forEach(subscriber ->
+                byStation.computeIfAbsent(subscriber.stationKey(), key -> new ArrayList<>()).add(subscriber));
+
+        String version = String.valueOf(snapshot.getVersion());
+        byStation.forEach((stationKey, stationSubscribers) -> {
+            if (stationKey.equals(ALL_STATIONS)) {
+                changes.getAdded().forEach(order -> broadcast(stationSubscribers, version, "order-added", order));
+                changes.getChanged().forEach(order -> broadcast(stationSubscribers, version, "order-updated", order));
+                changes.getRemovedIds().forEach(orderId ->
+                        broadcast(stationSubscribers, version, "order-removed", Map.of("id", orderId)));
+            } else {
+                broadcastStationChanges(stationSubscribers, stationKey, version, previous, changes);
+            }
+        });
+    }
+
+    /**
+     * Changes as the station sees them: an order only counts if it has the station's items,
+     * and a change to another station's items is not a change for this one
+     */
+    private void broadcastStationChanges(List<Subscriber> stationSubscribers, String station, String version,
+                                         BoardSnapshot previous, BoardChangeSet changes) {
+        for (KitchenOrderResponse order : changes.getAdded()) {
+            stationRouter.orderFor(order, station)
+                    .ifPresent(view -> broadcast(stationSubscribers, version, "order-added", view));
+        }
+        for (KitchenOrderResponse order : changes.getChanged()) {
+            Optional<KitchenOrderResponse> before = Optional.ofNullable(previous.getOrdersById().get(order.getId()))
+                    .flatMap(old -> stationRouter.orderFor(old, station));
+            Optional<KitchenOrderResponse> after = stationRouter.orderFor(order, station);
+            if (after.isPresent() && !after.equals(before)) {
+                broadcast(stationSubscribers, version, before.isPresent() ? "order-updated" : "order-added", after.get());
+            } else if (after.isEmpty() && before.isPresent()) {
+                broadcast(stationSubscribers, version, "order-removed", Map.of("id", order.getId()));
+            }
+        }
+        for (Long orderId : changes.getRemovedIds()) {
+            KitchenOrderResponse old = previous.getOrdersById().get(orderId);
+            if (old != null && stationRouter.orderFor(old, station).isPresent()) {
+                broadcast(stationSubscribers, version, "order-removed", Map.of("id", orderId));
+            }
+        }
+    }
+
+    private void broadcast(List<Subscriber> recipients, String version, String eventName, Object data) {
+        // Built once; SseEventBuilder.build() must not be called again per screen
+        Set<ResponseBodyEmitter.DataWithMediaType> event = SseEmitter.event()
+                .id(version)
+                .name(eventName)
+                .data(data)
+                .build();
+        recipients.forEach(subscriber -> enqueue(subscriber, event));
+    }
+
+    private void enqueue(Subscriber subscriber, Set<ResponseBodyEmitter.DataWithMediaType> event) {
+        if (!subscriber.queue().offer(event)) {
+            logger.warn("Dropping kitchen screen that fell {} events behind (station: {})",
+                    maxQueuedEvents, subscriber.stationKey().isEmpty() ? "all" : subscriber.stationKey());
+            close(subscriber);
+            subscriber.emitter().completeWithError(new IOException("Kitchen screen too slow, dropped"));
+            return;
+        }
+        if (subscriber.sending().compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    /**
+     * Sends the screen's queued events; only one drain runs per screen at a time
+     */
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            Set<ResponseBodyEmitter.DataWithMediaType> event = subscriber.queue().poll();
+            if (event == null) {
+                subscriber.sending().set(false);
+                // An event queued after the poll but before the flag was cleared would otherwise wait
+                if (subscriber.queue().isEmpty() || !subscriber.sending().compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            try {
+                subscriber.emitter().send(event);
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Dropping disconnected kitchen screen: {}", e.getMessage());
+                close(subscriber);
+                subscriber.emitter().completeWithError(e);
+                return;
+            }
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        subscriber.queue().clear();
+    }
+
+    private record Subscriber(SseEmitter emitter, String station, BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue,
+                              AtomicBoolean sending) {
+        Subscriber(SseEmitter emitter, String station, BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue) {
+            this(emitter, station, queue, new AtomicBoolean());
+        }
+
+        String stationKey() {
+            return station != null ? station : ALL_STATIONS;
+        }
+    }
+}
@@ -1,23 +1,33 @@
 package com.restaurant.kds_service.service;
 
+import com.restaurant.kds_service.dto.BatchUpdateOrderStatusRequest;
 import com.restaurant.kds_service.dto.KitchenOrderResponse;
 import com.restaurant.kds_service.dto.OrderReadyEvent;
 import com.restaurant.kds_service.dto.UpdateOrderStatusRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
  * Service for kitchen operations
  * Orchestrates Order Service updates and Kafka event publishing
+ * 4xx responses from Order Service (404 unknown order, 409 conflicting transition) are rethrown
+ * as they are, so KitchenController can answer with the same status
  */
 @Service
 public class KitchenService {
@@ -26,17 +36,44 @@ public class KitchenService {
 
     private final RestTemplate restTemplate;
     private final KafkaPublisherService kafkaPublisherService;
+    private final AdaptivePollingInterval pollingInterval;
+    private final TicketTimingService ticketTimingService;
+    private final AsyncTaskExecutor kitchenExecutor;
     private final String orderServiceBaseUrl;
 
     public KitchenService(
             RestTemplate restTemplate,
             KafkaPublisherService kafkaPublisherService,
+            AdaptivePollingInterval pollingInterval,
+            TicketTimingService ticketTimingService,
+            @Qualifier("kitchenExecutor") AsyncTaskExecutor kitchenExecutor,
             @Value("${order-service.base-url}") String orderServiceBaseUrl) {
         this.restTemplate = restTemplate;
         this.kafkaPublisherService = kafkaPublisherService;
+        this.pollingInterval = pollingInterval;
+        this.ticketTimingService = ticketTimingService;
+        this.kitchenExecutor = kitchenExecutor;
         this.orderServiceBaseUrl = orderServiceBaseUrl;
     }
 
+    /**
+     * Non-blocking variants for the REST endpoints: the Order Service call runs on the kitchen
+     * executor (see KitchenExecutorConfig) instead of the request thread
+     */
+    public CompletableFuture<KitchenOrderResponse> markOrderAsReadyAsync(Long orderId, String userId, String tableId) {
+        return CompletableFuture.supplyAsync(() -> markOrderAsReady(orderId, userId, tableId), kitchenExecutor);
+    }
+
+    public CompletableFuture<KitchenOrderResponse> updateOrderStatusAsync(Long orderId, String status,
+                                                                         String userId, String tableId) {
+        return CompletableFuture.supplyAsync(() -> updateOrderStatus(orderId, status, userId, tableId), kitchenExecutor);
+    }
+
+    public CompletableFuture<List<KitchenOrderResponse>> updateOrderStatusesAsync(List<Long> orderIds, String status,
+                                                                                String userId, String tableId) {
+        return CompletableFuture.supplyAsync(() -> updateOrderStatuses(orderIds, status, userId, tableId), kitchenExecutor);
+    }
+
     /**
      * Mark order as READY
      * 1. Update Order Service status
@@ -50,18 +87,7 @@ public class KitchenService {
         String url = orderServiceBaseUrl + "/" + orderId + "/status";
         UpdateOrderStatusRequest request = new UpdateOrderStatusRequest("READY");
 
-        // Add authorization headers
-        org.springframework.http.HttpHeaders headers = new org.springframework.http.HttpHeaders();
-        if (userId != null) {
-            headers.set("X-User-ID", userId);
-            logger.debug("Adding X-User-ID header: {}", userId);
-        }
-        if (tableId != null) {
-            headers.set("X-Table-ID", tableId);
-            logger.debug("Adding X-Table-ID header: {}", tableId);
-        }
-
-        HttpEntity<UpdateOrderStatusRequest> requestEntity = new HttpEntity<>(request, headers);
+        HttpEntity<UpdateOrderStatusRequest> requestEntity = new HttpEntity<>(request, authorizationHeaders(userId, tableId));
 
         try {
             logger.info("Calling Order Service to update order {} status to READY", orderId);
@@ -78,12 +104,17 @@ public class KitchenService {
             }
 
             logger.info("Order {} status updated successfully in Order Service", orderId);
+            pollingInterval.recordActivity();
+            ticketTimingService.recordStatus(updatedOrder, "READY", null);
 
             // Step 2: Publish Kafka event (only if Order Service update succeeded)
             publishOrderReadyEvent(updatedOrder);
 
             return updatedOrder;
 
+        } catch (HttpClientErrorException e) {
+            logger.warn("Order Service rejected order {} -> READY: {}", orderId, e.getStatusCode());
+            throw e;
         } catch (Exception e) {
             logger.error("Failed to update order {} in Order Service: {}", orderId, e.getMessage());
             throw new RuntimeException("Failed to mark order as READY: " + e.getMessage(), e);
@@ -100,18 +131,7 @@ public class KitchenService {
         String url = orderServiceBaseUrl + "/" + orderId + "/status";
         UpdateOrderStatusRequest request = new UpdateOrderStatusRequest(status);
 
-        // Add authorization headers
-        org.springframework.http.HttpHeaders headers = new org.springframework.http.HttpHeaders();
-        if (userId != null) {
-            headers.set("X-User-ID", userId);
-            logger.debug("Adding X-User-ID header: {}", userId);
-        }
-        if (tableId != null) {
-            headers.set("X-Table-ID", tableId);
-            logger.debug("Adding X-Table-ID header: {}", tableId);
-        }
-
-        HttpEntity<UpdateOrderStatusRequest> requestEntity = new HttpEntity<>(request, headers);
+        HttpEntity<UpdateOrderStatusRequest> requestEntity = new HttpEntity<>(request, authorizationHeaders(userId, tableId));
 
         try {
             logger.info("Calling Order Service to update order {} status to {}", orderId, status);
@@ -128,14 +148,76 @@ public class KitchenService {
             }
 
             logger.info("Order {} status updated successfully to {} in Order Service", orderId, status);
+            pollingInterval.recordActivity();
+            ticketTimingService.recordStatus(updatedOrder, status, null);
             return updatedOrder;
 
+        } catch (HttpClientErrorException e) {
+            logger.warn("Order Service rejected order {} -> {}: {}", orderId, status, e.getStatusCode());
+            throw e;
         } catch (Exception e) {
             logger.error("Failed to update order {} to {}: {}", orderId, status, e.getMessage());
             throw new RuntimeException("Failed to update order status to " + status + ": " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Move several orders to the same status with one Order Service call (one transaction there)
+     * If the new status is READY, an order-ready event is published for every order
+     */
+    public List<KitchenOrderResponse> updateOrderStatuses(List<Long> orderIds, String status, String userId, String tableId) {
+        logger.info("Updating {} orders to {} (orderIds: {}, userId: {}, tableId: {})",
+                orderIds.size(), status, orderIds, userId, tableId);
+
+        String url = orderServiceBaseUrl + "/batch-status";
+        BatchUpdateOrderStatusRequest request = new BatchUpdateOrderStatusRequest(orderIds, status);
+        HttpEntity<BatchUpdateOrderStatusRequest> requestEntity = new HttpEntity<>(request, authorizationHeaders(userId, tableId));
+
+        List<KitchenOrderResponse> updatedOrders;
+        try {
+            ResponseEntity<List<KitchenOrderResponse>> response = restTemplate.exchange(
+                    url,
+                    HttpMethod.POST,
+                    requestEntity,
+                    new ParameterizedTypeReference<List<KitchenOrderResponse>>() {}
+            );
+
+            updatedOrders = response.getBody();
+            if (updatedOrders == null) {
+                throw new RuntimeException("Order Service returned null response for orderIds: " + orderIds);
+            }
+
+            logger.info("{} orders updated successfully to {} in Order Service", updatedOrders.size(), status);
+            pollingInterval.recordActivity();
+            updatedOrders.forEach(order -> ticketTimingService.recordStatus(order, status, null));
+
+        } catch (HttpClientErrorException e) {
+            logger.warn("Order Service rejected orders {} -> {}: {}", orderIds, status, e.getStatusCode());
+            throw e;
+        } catch (Exception e) {
+            logger.error("Failed to update orders {} to {}: {}", orderIds, status, e.getMessage());
+            throw new RuntimeException("Failed to update order statuses to " + status + ": " + e.getMessage(), e);
+        }
+
+        if ("READY".equals(status)) {
+            updatedOrders.forEach(this::publishOrderReadyEvent);
+        }
+        return updatedOrders;
+    }
+
+    private HttpHeaders authorizationHeaders(String userId, String tableId) {
+        HttpHeaders headers = new HttpHeaders();
+        if (userId != null) {
+            headers.set("X-User-ID", userId);
+            logger.debug("Adding X-User-ID header: {}", userId);
+        }
+        if (tableId != null) {
+            headers.set("X-Table-ID", tableId);
+            logger.debug("Adding X-Table-ID header: {}", tableId);
+        }
+        return headers;
+    }
+
     /**
      * Publish order-ready event to Kafka
      */
@@ -0,0 +1,103 @@
+package com.restaurant.kds_service.service;
+
+import com.restaurant.kds_service.config.KitchenStationProperties;
+import com.restaurant.kds_service.dto.BoardSnapshot;
+import com.restaurant.kds_service.dto.KitchenOrderResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Routes board orders to kitchen stations by menu item id (see KitchenStationProperties)
+ *
+ * A station sees only the orders that contain at least one of its items, and of those orders
+ * only its own items. Station views of a board are built once per board version.
+ * Items not mapped to any station only appear on the full board.
+ */
+@Service
+public class KitchenStationRouter {
+
+    private static final Logger logger = LoggerFactory.getLogger(KitchenStationRouter.class);
+
+    private final Map<String, Set<Long>> itemsByStation;
+    // Item id -> stations preparing it
+    private final Map<Long, List<String>> stationsByItem = new HashMap<>();
+
+    private volatile StationViews views = new StationViews(-1, Map.of());
+
+    public KitchenStationRouter(KitchenStationProperties properties) {
+        this.itemsByStation = Map.copyOf(properties.getStations());
+        itemsByStation.forEach((station, itemIds) -> itemIds.forEach(itemId ->
+                stationsByItem.computeIfAbsent(itemId, id -> new ArrayList<>()).add(station)));
+        logger.info("Kitchen stations: {}", itemsByStation.isEmpty() ? "none configured" : itemsByStation);
+    }
+
+    public boolean isKnownStation(String station) {
+        return itemsByStation.containsKey(station);
+    }
+
+    /**
+     * Orders of the board that concern the station, with only the station's items
+     */
+    public List<KitchenOrderResponse> ordersFor(BoardSnapshot board, String station) {
+        StationViews current = views;
+        if (current.version() != board.getVersion()) {
+            current = buildViews(board);
+            views = current;
+        }
+        return current.ordersByStation().getOrDefault(station, List.of());
+    }
+
+    /**
+     * The order as the station sees it, or empty if it has none of the station's items
+     */
+    public Optional<KitchenOrderResponse> orderFor(KitchenOrderResponse order, String station) {
+        Set<Long> stationItems = itemsByStation.get(station);
+        if (stationItems == null || order.getItems() == null) {
+            return Optional.empty();
+        }
+
+        List<KitchenOrderResponse.OrderItem> items = order.getItems().stream()
+                .filter(item -> stationItems.contains(item.getItemId()))
+                .toList();
+        if (items.isEmpty()) {
+            return Optional.empty();
+        }
+        if (items.size() == order.getItems().size()) {
+            return Optional.of(order);
+        }
+        return Optional.of(new KitchenOrderResponse(order.getId(), order.getTableId(), order.getUserId(),
+                order.getStatus(), order.getTotalAmount(), order.getCreatedAt(), items,
+                order.getUpdatedAt(), order.getVersion()));
+    }
+
+    private StationViews buildViews(BoardSnapshot board) {
+        Map<String, List<KitchenOrderResponse>> ordersByStation = new LinkedHashMap<>();
+        itemsByStation.keySet().forEach(station -> ordersByStation.put(station, new ArrayList<>()));
+
+        // Board order (oldest first) is kept within every station
+        for (KitchenOrderResponse order : board.getOrders()) {
+            if (order.getItems() == null) {
+                continue;
+            }
+            order.getItems().stream()
+                    .flatMap(item -> stationsByItem.getOrDefault(item.getItemId(), List.of()).stream())
+                    .distinct()
+                    .forEach(station -> orderFor(order, station).ifPresent(ordersByStation.get(station)::add));
+        }
+
+        ordersByStation.replaceAll((station, orders) -> List.copyOf(orders));
+        return new StationViews(board.getVersion(), ordersByStation);
+    }
+
+    private record StationViews(long version, Map<String, List<KitchenOrderResponse>> ordersByStation) {
+    }
+}
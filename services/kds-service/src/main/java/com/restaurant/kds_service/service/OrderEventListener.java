@@ -0,0 +1,66 @@
+package com.restaurant.kds_service.service;
+
+import com.restaurant.kds_service.dto.OrderChangeEvent;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Consumes order change events from Order Service and applies them to the kitchen board
+ * While this feed is connected, polling only runs as a slow reconciliation fallback
+ */
+@Service
+@ConditionalOnProperty(name = "order-events.enabled", havingValue = "true", matchIfMissing = false)
+public class OrderEventListener implements ConsumerSeekAware {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderEventListener.class);
+
+    private final OrderPollingService orderPollingService;
+    private final TicketTimingService ticketTimingService;
+
+    public OrderEventListener(OrderPollingService orderPollingService, TicketTimingService ticketTimingService) {
+        this.orderPollingService = orderPollingService;
+        this.ticketTimingService = ticketTimingService;
+    }
+
+    @KafkaListener(
+            topics = "${kafka.topic.order-events}",
+            groupId = "${order-events.group-id}",
+            containerFactory = "orderEventListenerContainerFactory")
+    public void onOrderEvent(OrderChangeEvent event) {
+        if (event == null || event.getOrderId() == null) {
+            logger.warn("Ignoring malformed order event: {}", event);
+            return;
+        }
+
+        logger.debug("Received order event - orderId: {}, type: {}, {} -> {}",
+                event.getOrderId(), event.getEventType(), event.getPreviousStatus(), event.getStatus());
+        orderPollingService.applyOrderEvent(event);
+
+        // The board only holds active orders; READY and SERVED timings come from the event itself
+        if (event.getOrder() != null) {
+            ticketTimingService.recordStatus(event.getOrder(), event.getStatus(), event.getOccurredAt());
+        } else {
+            ticketTimingService.recordStatus(event.getOrderId(), event.getStatus(), event.getOccurredAt());
+        }
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        logger.info("Order event feed connected - partitions: {}", assignments.keySet());
+        orderPollingService.setPushFeedConnected(true);
+    }
+
+    @Override
+    public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+        logger.warn("Order event feed disconnected - falling back to regular polling");
+        orderPollingService.setPushFeedConnected(false);
+    }
+}
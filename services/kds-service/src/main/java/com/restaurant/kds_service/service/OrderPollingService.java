@@ -1,72 +1,148 @@
 package com.restaurant.kds_service.service;
 
+import com.restaurant.kds_service.dto.BoardChangeSet;
+import com.restaurant.kds_service.dto.BoardSnapshot;
+import com.restaurant.kds_service.dto.BoardUpdatedEvent;
 import com.restaurant.kds_service.dto.KitchenOrderResponse;
+import com.restaurant.kds_service.dto.OrderChangeEvent;
+import com.restaurant.kds_service.dto.SharedBoardDelta;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
- * Service responsible for polling Order Service at configurable interval
+ * Service responsible for polling Order Service at an adaptive interval (see AdaptivePollingInterval)
  * Order Service is the SOURCE OF TRUTH
- * Redis is optional cache ONLY
+ * Polls run on virtual threads (spring.threads.virtual.enabled), so a poll waiting on a slow
+ * Order Service holds no platform thread and never delays the other scheduled tasks
+ * Redis is optional: when enabled, replicas share one incremental board (see RedisBoardStore)
+ * and only the elected leader polls (see PollerLeaderElection)
+ *
+ * When the order-events Kafka feed is connected, changes are applied incrementally
+ * and polling only runs every polling.reconcile-interval-ms as a reconciliation fallback
  */
 @Service
 public class OrderPollingService {
 
     private static final Logger logger = LoggerFactory.getLogger(OrderPollingService.class);
-    private static final String REDIS_KEY = "kds:active-orders";
+    private static final Set<String> ACTIVE_STATUSES = Set.of("CREATED", "CONFIRMED", "PREPARING");
 
     private final RestTemplate restTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AdaptivePollingInterval pollingInterval;
+    private final MeterRegistry meterRegistry;
     private final String orderServiceBaseUrl;
-    private final boolean redisEnabled;
-    private final long pollingIntervalMs;
+    private final long reconcileIntervalMs;
+
+    private volatile boolean pushFeedConnected = false;
+    private volatile long lastSuccessfulPollAt = 0;
+    private volatile String lastETag;
+
+    // Last shared board version applied from Redis
+    private volatile long sharedBoardVersion = -1;
+
+    @Autowired(required = false)
+    private RedisBoardStore redisBoardStore;
 
     @Autowired(required = false)
-    private RedisTemplate<String, List<KitchenOrderResponse>> redisTemplate;
+    private PollerLeaderElection leaderElection;
+
+    // In-memory board (always maintained regardless of Redis); replaced atomically, never mutated
+    private final AtomicReference<BoardSnapshot> board = new AtomicReference<>(BoardSnapshot.empty());
+    private final Object boardUpdateLock = new Object();
+
+    // Redis writes and BoardUpdatedEvents, queued in board version order while holding boardUpdateLock
+    // and run after it is released (see publishPendingUpdates)
+    private final Queue<Runnable> pendingUpdates = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock publishLock = new ReentrantLock();
 
-    // In-memory backup (always maintained regardless of Redis)
-    private final List<KitchenOrderResponse> inMemoryOrders = new CopyOnWriteArrayList<>();
+    // Orders changed by order events, so a poll that started earlier cannot roll them back
+    // (guarded by boardUpdateLock; entries older than the last successful poll are dropped)
+    private final Map<Long, AppliedEvent> appliedEvents = new HashMap<>();
 
     public OrderPollingService(
             RestTemplate restTemplate,
+            ApplicationEventPublisher eventPublisher,
+            BoardSnapshotStore boardSnapshotStore,
+            AdaptivePollingInterval pollingInterval,
+            MeterRegistry meterRegistry,
             @Value("${order-service.base-url}") String orderServiceBaseUrl,
-            @Value("${redis.enabled:false}") boolean redisEnabled,
-            @Value("${polling.interval-ms:3000}") long pollingIntervalMs) {
+            @Value("${polling.interval-ms:3000}") long pollingIntervalMs,
+            @Value("${polling.reconcile-interval-ms:30000}") long reconcileIntervalMs) {
         this.restTemplate = restTemplate;
+        this.eventPublisher = eventPublisher;
+        this.pollingInterval = pollingInterval;
+        this.meterRegistry = meterRegistry;
         this.orderServiceBaseUrl = orderServiceBaseUrl;
-        this.redisEnabled = redisEnabled;
-        this.pollingIntervalMs = pollingIntervalMs;
-        logger.info("OrderPollingService initialized - polling interval: {}ms ({}s)",
-                pollingIntervalMs, pollingIntervalMs / 1000.0);
+        this.reconcileIntervalMs = reconcileIntervalMs;
+        logger.info("OrderPollingService initialized - polling interval: {}ms ({}s), reconcile interval: {}ms",
+                pollingIntervalMs, pollingIntervalMs / 1000.0, reconcileIntervalMs);
+
+        // Warm start: show the last known board until the first poll reconciles it
+        boardSnapshotStore.load().ifPresent(saved ->
+                board.set(BoardSnapshot.of(saved.getVersion(), saved.getOrders())));
     }
 
     /**
-     * Poll Order Service at configurable interval (default: 3 seconds)
+     * Poll Order Service; scheduled by PollingSchedulerConfig (default: every 3 seconds,
+     * faster while the kitchen is busy, slower when idle or while Order Service is failing)
      * This is the ONLY way data enters the KDS system
+     *
+     * With Redis enabled only the elected leader polls; the other replicas follow the shared board
      */
-    @Scheduled(fixedDelayString = "${polling.interval-ms:3000}")
     public void pollActiveOrders() {
+        if (leaderElection != null && !leaderElection.isLeader()) {
+            // Our board may have moved on since we last polled, so start over without an ETag once leader
+            lastETag = null;
+            pollingInterval.recordStandby();
+            logger.trace("Not the poller leader - following the shared board");
+            return;
+        }
+
+        if (pushFeedConnected && System.currentTimeMillis() - lastSuccessfulPollAt < reconcileIntervalMs) {
+            logger.trace("Order event feed connected - skipping poll until next reconciliation");
+            return;
+        }
+
         logger.debug("Polling Order Service for active orders...");
+        Timer.Sample latency = Timer.start(meterRegistry);
+        long pollStartedAt = System.currentTimeMillis();
 
         try {
             String url = orderServiceBaseUrl + "/active";
 
             HttpHeaders headers = new HttpHeaders();
+            if (lastETag != null) {
+                // Order Service answers 304 from memory, without a database query, if nothing changed
+                headers.setIfNoneMatch(lastETag);
+            }
             HttpEntity<Void> requestEntity = new HttpEntity<>(headers);
 
             ResponseEntity<List<KitchenOrderResponse>> response = restTemplate.exchange(
@@ -76,6 +152,17 @@ public class OrderPollingService {
                     new ParameterizedTypeReference<List<KitchenOrderResponse>>() {}
             );
 
+            if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                logger.debug("Active orders not modified since {}", lastETag);
+                recordPollLatency(latency, "not_modified");
+                pollingInterval.recordSuccess();
+                lastSuccessfulPollAt = System.currentTimeMillis();
+                return;
+            }
+
+            recordPollLatency(latency, "success");
+            pollingInterval.recordSuccess();
+
             List<KitchenOrderResponse> activeOrders = response.getBody();
             if (activeOrders == null) {
                 activeOrders = new ArrayList<>();
@@ -83,48 +170,237 @@ public class OrderPollingService {
 
             logger.info("Polled {} active orders from Order Service", activeOrders.size());
 
-            // Update in-memory cache (always)
-            inMemoryOrders.clear();
-            inMemoryOrders.addAll(activeOrders);
-
-            // Update Redis cache if enabled
-            if (redisEnabled && redisTemplate != null) {
-                try {
-                    redisTemplate.opsForValue().set(REDIS_KEY, activeOrders, 10, TimeUnit.SECONDS);
-                    logger.debug("Updated Redis cache with {} orders", activeOrders.size());
-                } catch (Exception e) {
-                    logger.warn("Failed to update Redis cache (non-critical): {}", e.getMessage());
-                }
+            // Update in-memory board (always), then the shared board (if enabled)
+            List<KitchenOrderResponse> polledOrders = activeOrders;
+            BoardChangeSet changes;
+            synchronized (boardUpdateLock) {
+                changes = updateBoard(current -> mergePoll(current, polledOrders, pollStartedAt));
+                List<KitchenOrderResponse> merged = board.get().getOrders();
+                queueSharedBoardWrite(store -> store.writeFullBoard(merged));
+            }
+            publishPendingUpdates();
+            lastSuccessfulPollAt = System.currentTimeMillis();
+            lastETag = response.getHeaders().getETag();
+
+            if (!changes.isEmpty()) {
+                logger.info("Board changed - added: {}, changed: {}, removed: {}",
+                        changes.getAdded().size(), changes.getChanged().size(), changes.getRemovedIds().size());
             }
 
         } catch (Exception e) {
-            logger.error("Failed to poll Order Service: {}", e.getMessage());
+            recordPollLatency(latency, "error");
+            pollingInterval.recordFailure();
+            logger.error("Failed to poll Order Service (backing off): {}", e.getMessage());
             logger.debug("Full error:", e);
             // KDS continues to operate with last known data
         }
     }
 
     /**
-     * Get active orders from cache
-     * Priority: Redis (if enabled) → In-memory → Empty list
+     * Apply a single order change event from the order-events feed to the board
+     * Active orders are inserted or replaced, orders that left the active set are removed
      */
-    public List<KitchenOrderResponse> getActiveOrders() {
-        // Try Redis first if enabled
-        if (redisEnabled && redisTemplate != null) {
+    public void applyOrderEvent(OrderChangeEvent event) {
+        BoardChangeSet changes;
+        synchronized (boardUpdateLock) {
+            changes = updateBoard(current -> {
+                Map<Long, KitchenOrderResponse> orders = new LinkedHashMap<>(current.getOrdersById());
+                KitchenOrderResponse onBoard = orders.get(event.getOrderId());
+                if (onBoard != null && isOlder(event.getOrder(), onBoard)) {
+                    // Redelivered or reordered event; the board already has a newer state
+                    return orders.values();
+                }
+                orders.remove(event.getOrderId());
+                boolean active = event.getOrder() != null && ACTIVE_STATUSES.contains(event.getStatus());
+                if (active) {
+                    orders.put(event.getOrderId(), event.getOrder());
+                }
+                appliedEvents.put(event.getOrderId(), new AppliedEvent(System.currentTimeMillis(),
+                        event.getOrder() != null ? event.getOrder().getVersion() : null, !active));
+                return orders.values();
+            });
+            if (!changes.isEmpty()) {
+                queueSharedBoardWrite(store -> store.writeChanges(changes));
+            }
+        }
+        publishPendingUpdates();
+
+        logger.info("Applied order event - orderId: {}, status: {}, board size: {}, changed: {}",
+                event.getOrderId(), event.getStatus(), board.get().size(), !changes.isEmpty());
+    }
+
+    /**
+     * Pull changes other replicas wrote to the shared Redis board into the local board
+     * Only the orders that changed since the last sync are read, before taking boardUpdateLock;
+     * orders the local board already has in a newer version are skipped
+     */
+    @Scheduled(fixedDelayString = "${redis.sync-interval-ms:1000}")
+    public void syncFromSharedBoard() {
+        if (redisBoardStore == null) {
+            return;
+        }
+
+        try {
+            SharedBoardDelta delta = redisBoardStore.readChangesSince(sharedBoardVersion);
+            sharedBoardVersion = delta.getVersion();
+            if (delta.isEmpty()) {
+                return;
+            }
+
+            BoardChangeSet changes;
+            synchronized (boardUpdateLock) {
+                changes = updateBoard(current -> {
+                    if (delta.isFull()) {
+                        return delta.getUpserts();
+                    }
+                    Map<Long, KitchenOrderResponse> orders = new LinkedHashMap<>(current.getOrdersById());
+                    delta.getRemovedIds().forEach(orders::remove);
+                    delta.getUpserts().forEach(order -> {
+                        KitchenOrderResponse onBoard = orders.get(order.getId());
+                        if (onBoard == null || !isOlder(order, onBoard)) {
+                            orders.put(order.getId(), order);
+                        }
+                    });
+                    return orders.values();
+                });
+            }
+            publishPendingUpdates();
+            if (!changes.isEmpty()) {
+                logger.debug("Synced shared board version {} - added: {}, changed: {}, removed: {}",
+                        delta.getVersion(), changes.getAdded().size(), changes.getChanged().size(),
+                        changes.getRemovedIds().size());
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to sync shared board from Redis (non-critical): {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Current board; an immutable snapshot that is safe to read without locking
+     */
+    public BoardSnapshot getBoardSnapshot() {
+        return board.get();
+    }
+
+    public void setPushFeedConnected(boolean connected) {
+        this.pushFeedConnected = connected;
+    }
+
+    /**
+     * Swap in the next board and queue the BoardUpdatedEvent for it
+     * Writers (poller, order-events feed, shared board sync) are serialized by boardUpdateLock, so
+     * versions are assigned and events queued in order; readers just take the current snapshot.
+     * Only the in-memory swap happens under the lock; callers run publishPendingUpdates() after it.
+     */
+    private BoardChangeSet updateBoard(Function<BoardSnapshot, Collection<KitchenOrderResponse>> nextOrders) {
+        BoardSnapshot previous;
+        BoardSnapshot current;
+        BoardChangeSet changes;
+        synchronized (boardUpdateLock) {
+            previous = board.get();
+            current = BoardSnapshot.of(previous.getVersion() + 1, nextOrders.apply(previous));
+            changes = BoardChangeSet.between(previous, current);
+            if (changes.isEmpty()) {
+                return changes;
+            }
+            board.set(current);
+            pollingInterval.recordActivity();
+            BoardSnapshot updated = current;
+            pendingUpdates.add(() -> eventPublisher.publishEvent(new BoardUpdatedEvent(updated, changes)));
+        }
+        return changes;
+    }
+
+    /**
+     * Run queued Redis writes and BoardUpdatedEvents, in board version order, outside boardUpdateLock
+     * One thread drains at a time; a thread that finds another one draining leaves its updates to it.
+     * The queue is re-checked after unlocking so nothing is left behind when the drainer finishes.
+     */
+    private void publishPendingUpdates() {
+        while (!pendingUpdates.isEmpty() && publishLock.tryLock()) {
             try {
-                List<KitchenOrderResponse> cachedOrders = redisTemplate.opsForValue().get(REDIS_KEY);
-                if (cachedOrders != null) {
-                    logger.debug("Serving {} orders from Redis cache", cachedOrders.size());
-                    return cachedOrders;
+                Runnable update;
+                while ((update = pendingUpdates.poll()) != null) {
+                    try {
+                        update.run();
+                    } catch (Exception e) {
+                        logger.warn("Failed to publish board update: {}", e.getMessage());
+                    }
                 }
-            } catch (Exception e) {
-                logger.warn("Failed to read from Redis (falling back to in-memory): {}", e.getMessage());
+            } finally {
+                publishLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Polled orders replace the board, except where an order event applied after the poll started
+     * is newer: Order Service may have answered the poll from a snapshot taken before that change.
+     * Such an order keeps its event state (including a removal) unless the poll carries a higher
+     * per-order version. Events applied before the poll started are covered by the poll.
+     */
+    private Collection<KitchenOrderResponse> mergePoll(BoardSnapshot current, List<KitchenOrderResponse> polledOrders,
+                                                       long pollStartedAt) {
+        appliedEvents.values().removeIf(applied -> applied.appliedAt() < pollStartedAt);
+
+        Map<Long, KitchenOrderResponse> onBoard = current.getOrdersById();
+        Map<Long, KitchenOrderResponse> merged = new LinkedHashMap<>();
+        for (KitchenOrderResponse polled : polledOrders) {
+            AppliedEvent applied = appliedEvents.get(polled.getId());
+            if (applied == null || isNewerVersion(polled.getVersion(), applied.version())) {
+                merged.put(polled.getId(), polled);
+            } else if (!applied.removed()) {
+                merged.put(polled.getId(), onBoard.getOrDefault(polled.getId(), polled));
             }
         }
+        appliedEvents.forEach((orderId, applied) -> {
+            if (!applied.removed() && !merged.containsKey(orderId) && onBoard.containsKey(orderId)) {
+                // Created or changed after the poll's snapshot was taken
+                merged.put(orderId, onBoard.get(orderId));
+            }
+        });
+        return merged.values();
+    }
 
-        // Fallback to in-memory
-        logger.debug("Serving {} orders from in-memory cache", inMemoryOrders.size());
-        return new ArrayList<>(inMemoryOrders);
+    private static boolean isOlder(KitchenOrderResponse candidate, KitchenOrderResponse existing) {
+        return candidate != null && isNewerVersion(existing.getVersion(), candidate.getVersion());
+    }
+
+    private static boolean isNewerVersion(Long version, Long than) {
+        return version != null && than != null && version > than;
+    }
+
+    private record AppliedEvent(long appliedAt, Long version, boolean removed) {
+    }
+
+    private void recordPollLatency(Timer.Sample latency, String outcome) {
+        latency.stop(Timer.builder("kds.polling.latency")
+                .description("Time to poll active orders from Order Service")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private void queueSharedBoardWrite(Consumer<RedisBoardStore> write) {
+        if (redisBoardStore == null) {
+            return;
+        }
+        pendingUpdates.add(() -> {
+            try {
+                write.accept(redisBoardStore);
+            } catch (Exception e) {
+                logger.warn("Failed to update shared board in Redis (non-critical): {}", e.getMessage());
+            }
+        });
     }
-}
 
+    /**
+     * Get active orders from the in-memory board
+     * With Redis enabled, the board also includes changes synced from other replicas
+     */
+    public List<KitchenOrderResponse> getActiveOrders() {
+        BoardSnapshot snapshot = board.get();
+        logger.debug("Serving {} orders from in-memory board (version {})", snapshot.size(), snapshot.getVersion());
+        return snapshot.getOrders();
+    }
+}
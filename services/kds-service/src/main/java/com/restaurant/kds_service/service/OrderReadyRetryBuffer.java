@@ -0,0 +1,137 @@
+package com.restaurant.kds_service.service;
+
+import com.restaurant.kds_service.dto.OrderReadyEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local durable buffer for order-ready events that Kafka did not acknowledge
+ *
+ * Each event is written to its own file in order-ready-retry.directory (temp file + atomic move,
+ * same as BoardSnapshotStore), so buffered events survive a KDS restart. File names start with
+ * the time they were buffered, so replay (KafkaPublisherService) sends them oldest first and
+ * deletes each file only after Kafka acknowledged it.
+ */
+@Service
+public class OrderReadyRetryBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderReadyRetryBuffer.class);
+
+    private static final String SUFFIX = ".json";
+
+    private final JsonMapper jsonMapper;
+    private final Path directory;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    public OrderReadyRetryBuffer(
+            JsonMapper jsonMapper,
+            MeterRegistry meterRegistry,
+            @Value("${order-ready-retry.directory:data/order-ready-retry}") String directory) {
+        this.jsonMapper = jsonMapper;
+        this.directory = Paths.get(directory);
+        this.pending.set(list().size());
+        if (pending.get() > 0) {
+            logger.warn("{} buffered order-ready events from a previous run will be replayed", pending.get());
+        }
+
+        Gauge.builder("kds.order-ready.retry-buffer.size", pending, AtomicInteger::get)
+                .description("Order-ready events waiting to be replayed to Kafka")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Persist an event that could not be published; returns false if it could not be written either
+     */
+    public boolean store(OrderReadyEvent event) {
+        String name = String.format("%013d-%06d-%d", System.currentTimeMillis(),
+                sequence.incrementAndGet() % 1_000_000, event.getOrderId());
+        try {
+            Files.createDirectories(directory);
+            Path tempFile = Files.createTempFile(directory, "order-ready", ".tmp");
+            try {
+                jsonMapper.writeValue(tempFile.toFile(), event);
+                Files.move(tempFile, directory.resolve(name + SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+            pending.incrementAndGet();
+            logger.warn("Buffered order-ready event for replay - orderId: {}", event.getOrderId());
+            return true;
+        } catch (Exception e) {
+            logger.error("Failed to buffer order-ready event - orderId: {}, event: {}",
+                    event.getOrderId(), event, e);
+            return false;
+        }
+    }
+
+    /**
+     * Buffered event files, oldest first
+     */
+    public List<Path> list() {
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return files;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            stream.forEach(files::add);
+        } catch (IOException e) {
+            logger.warn("Failed to list order-ready retry buffer {}: {}", directory, e.getMessage());
+        }
+        files.sort(null);
+        return files;
+    }
+
+    /**
+     * Read a buffered event; unreadable files are renamed to *.corrupt and kept for inspection
+     */
+    public Optional<OrderReadyEvent> read(Path file) {
+        try {
+            return Optional.of(jsonMapper.readValue(file.toFile(), OrderReadyEvent.class));
+        } catch (Exception e) {
+            logger.error("Unreadable buffered order-ready event {}, moving it aside: {}", file, e.getMessage());
+            try {
+                Files.move(file, file.resolveSibling(file.getFileName() + ".corrupt"), StandardCopyOption.REPLACE_EXISTING);
+                pending.decrementAndGet();
+            } catch (IOException moveError) {
+                logger.warn("Failed to move aside {}: {}", file, moveError.getMessage());
+            }
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * The event in this file was acknowledged by Kafka
+     */
+    public void remove(Path file) {
+        try {
+            if (Files.deleteIfExists(file)) {
+                pending.decrementAndGet();
+            }
+        } catch (IOException e) {
+            // Left in place it is sent again on the next replay (order-ready delivery is at-least-once)
+            logger.warn("Failed to delete replayed order-ready event {}: {}", file, e.getMessage());
+        }
+    }
+
+    public int size() {
+        return pending.get();
+    }
+}
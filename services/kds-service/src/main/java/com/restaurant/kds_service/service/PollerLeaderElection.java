@@ -0,0 +1,107 @@
+package com.restaurant.kds_service.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Elects one KDS replica to poll Order Service, using a lease in Redis
+ *
+ * The leader renews its lease every renew-interval-ms; if it dies, the lease expires after
+ * lease-ms and the next replica to try takes over. Followers keep their board in sync from
+ * the shared Redis board (see OrderPollingService.syncFromSharedBoard).
+ */
+@Service
+@ConditionalOnProperty(name = "redis.enabled", havingValue = "true", matchIfMissing = false)
+public class PollerLeaderElection {
+
+    private static final Logger logger = LoggerFactory.getLogger(PollerLeaderElection.class);
+
+    private static final List<String> LEASE_KEY = List.of("kds:{board}:poller-leader");
+
+    private static final RedisScript<Long> ACQUIRE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/leader-acquire.lua"), Long.class);
+    private static final RedisScript<Long> RELEASE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/leader-release.lua"), Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final long leaseMs;
+
+    private volatile boolean leader = false;
+    private volatile long leaseValidUntil = 0;
+
+    public PollerLeaderElection(
+            StringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${poller-leader.lease-ms:3000}") long leaseMs,
+            @Value("${poller-leader.renew-interval-ms:1000}") long renewIntervalMs) {
+        this.redisTemplate = redisTemplate;
+        this.leaseMs = leaseMs;
+
+        Gauge.builder("kds.poller.leader", this, election -> election.isLeader() ? 1 : 0)
+                .description("1 if this replica currently polls Order Service")
+                .register(meterRegistry);
+        logger.info("Poller leader election enabled - instance: {}, lease: {}ms, renew every {}ms",
+                instanceId, leaseMs, renewIntervalMs);
+    }
+
+    /**
+     * Whether this replica holds the lease
+     * A lease that could not be renewed in time counts as lost, so two replicas never both poll
+     * for longer than one renew attempt
+     */
+    public boolean isLeader() {
+        return leader && System.currentTimeMillis() < leaseValidUntil;
+    }
+
+    @Scheduled(fixedDelayString = "${poller-leader.renew-interval-ms:1000}")
+    public void acquireOrRenew() {
+        long attemptedAt = System.currentTimeMillis();
+        boolean acquired;
+        try {
+            Long result = redisTemplate.execute(ACQUIRE_SCRIPT, LEASE_KEY, instanceId, String.valueOf(leaseMs));
+            acquired = result != null && result == 1;
+        } catch (Exception e) {
+            logger.warn("Failed to renew poller lease: {}", e.getMessage());
+            acquired = false;
+        }
+
+        if (acquired) {
+            // Measured from before the call, so our view of the lease never outlives Redis's
+            leaseValidUntil = attemptedAt + leaseMs;
+        }
+        if (acquired != leader) {
+            logger.info(acquired
+                    ? "Became poller leader - this replica now polls Order Service"
+                    : "Lost poller leadership - following the shared board");
+        }
+        leader = acquired;
+    }
+
+    @PreDestroy
+    public void release() {
+        if (!leader) {
+            return;
+        }
+        leader = false;
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, LEASE_KEY, instanceId);
+            logger.info("Released poller lease");
+        } catch (Exception e) {
+            logger.warn("Failed to release poller lease (expires in {}ms): {}", leaseMs, e.getMessage());
+        }
+    }
+}
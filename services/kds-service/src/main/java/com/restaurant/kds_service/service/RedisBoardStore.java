@@ -0,0 +1,128 @@
+package com.restaurant.kds_service.service;
+
+import com.restaurant.kds_service.dto.BoardChangeSet;
+import com.restaurant.kds_service.dto.KitchenOrderResponse;
+import com.restaurant.kds_service.dto.SharedBoardDelta;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Kitchen board shared between KDS replicas in Redis
+ *
+ * Layout (all keys share the {board} hash tag, so the scripts also work on Redis Cluster):
+ * - kds:{board}:order:{id}    hash: data (order JSON), version (board version of its last change)
+ * - kds:{board}:orders        sorted set of order ids by createdAt
+ * - kds:{board}:changes       sorted set of order ids by version of their last change (incl. removal)
+ * - kds:{board}:version       board version counter
+ * - kds:{board}:min-version   changes at or below this version were trimmed from the change log
+ *
+ * Writes go through one Lua script, so readers never see a half-applied change and the version
+ * only moves when an order actually changed. Readers ask for changes since their version and get
+ * only the changed orders back (or the full board if they are too far behind).
+ */
+@Service
+@ConditionalOnProperty(name = "redis.enabled", havingValue = "true", matchIfMissing = false)
+public class RedisBoardStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisBoardStore.class);
+
+    private static final String ORDER_KEY_PREFIX = "kds:{board}:order:";
+    private static final List<String> KEYS = List.of(
+            "kds:{board}:version",
+            "kds:{board}:orders",
+            "kds:{board}:changes",
+            "kds:{board}:min-version");
+
+    private static final RedisScript<Long> UPDATE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/board-update.lua"), Long.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> READ_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/board-read.lua"), List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final JsonMapper jsonMapper;
+    private final int maxTrackedChanges;
+
+    public RedisBoardStore(
+            StringRedisTemplate redisTemplate,
+            JsonMapper jsonMapper,
+            @Value("${redis.max-tracked-changes:1000}") int maxTrackedChanges) {
+        this.redisTemplate = redisTemplate;
+        this.jsonMapper = jsonMapper;
+        this.maxTrackedChanges = maxTrackedChanges;
+    }
+
+    /**
+     * Replace the shared board with a full poll result; unchanged orders are not rewritten
+     */
+    public long writeFullBoard(Collection<KitchenOrderResponse> orders) {
+        return update("full", orders, List.of());
+    }
+
+    /**
+     * Apply incremental changes (e.g. from the order-events feed)
+     */
+    public long writeChanges(BoardChangeSet changes) {
+        List<KitchenOrderResponse> upserts = new ArrayList<>(changes.getAdded());
+        upserts.addAll(changes.getChanged());
+        return update("partial", upserts, changes.getRemovedIds());
+    }
+
+    @SuppressWarnings("unchecked")
+    public SharedBoardDelta readChangesSince(long version) {
+        List<Object> result = redisTemplate.execute(READ_SCRIPT, KEYS, ORDER_KEY_PREFIX, String.valueOf(version));
+        if (result == null || result.size() < 2) {
+            throw new IllegalStateException("Unexpected board-read result: " + result);
+        }
+
+        long currentVersion = ((Number) result.get(0)).longValue();
+        boolean full = ((Number) result.get(1)).longValue() == 1;
+        List<KitchenOrderResponse> upserts = new ArrayList<>();
+        List<Long> removedIds = new ArrayList<>();
+        for (int i = 2; i + 1 < result.size(); i += 2) {
+            String json = (String) result.get(i + 1);
+            if (json.isEmpty()) {
+                removedIds.add(Long.valueOf((String) result.get(i)));
+            } else {
+                upserts.add(jsonMapper.readValue(json, KitchenOrderResponse.class));
+            }
+        }
+
+        logger.debug("Read shared board {} -> {} (full: {}, upserts: {}, removed: {})",
+                version, currentVersion, full, upserts.size(), removedIds.size());
+        return new SharedBoardDelta(currentVersion, full, upserts, removedIds);
+    }
+
+    private long update(String mode, Collection<KitchenOrderResponse> upserts, Collection<Long> removedIds) {
+        List<String> args = new ArrayList<>(4 + upserts.size() * 3 + removedIds.size());
+        args.add(ORDER_KEY_PREFIX);
+        args.add(String.valueOf(maxTrackedChanges));
+        args.add(mode);
+        args.add(String.valueOf(upserts.size()));
+        for (KitchenOrderResponse order : upserts) {
+            args.add(String.valueOf(order.getId()));
+            args.add(String.valueOf(createdAtScore(order)));
+            args.add(jsonMapper.writeValueAsString(order));
+        }
+        removedIds.forEach(id -> args.add(String.valueOf(id)));
+
+        Long version = redisTemplate.execute(UPDATE_SCRIPT, KEYS, args.toArray());
+        return version != null ? version : 0;
+    }
+
+    private static long createdAtScore(KitchenOrderResponse order) {
+        return order.getCreatedAt() != null ? order.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli() : Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,276 @@
+package com.restaurant.kds_service.service;
+
+import com.restaurant.kds_service.dto.BoardChangeSet;
+import com.restaurant.kds_service.dto.BoardUpdatedEvent;
+import com.restaurant.kds_service.dto.KitchenOrderResponse;
+import com.restaurant.kds_service.dto.KitchenStatsResponse;
+import com.restaurant.kds_service.dto.OrderTiming;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks how long kitchen tickets spend in each stage
+ *
+ * - queue-wait:      created -> PREPARING
+ * - prep-time:       PREPARING -> READY
+ * - ready-to-served: READY -> SERVED (only seen through the order-events feed)
+ *
+ * Transitions come from board diffs (OrderPollingService), kitchen actions (KitchenService) and
+ * order events, all timed with Order Service's timestamps (event occurredAt, else the order's
+ * updatedAt), so whichever source reports a transition first records the same time. An order that
+ * leaves the board is not assumed READY: it waits for the READY/SERVED event, and if none arrives
+ * within kitchen-stats.left-board-grace-minutes it is counted in kds.ticket.left-board instead.
+ *
+ * Each stage is a Micrometer timer with SLA buckets and rolling p50/p95/p99 over
+ * kitchen-stats.window-minutes; percentiles come from a fixed-size time-windowed histogram, so
+ * memory does not grow with the number of tickets.
+ *
+ * Open tickets are persisted with the board snapshot (BoardSnapshotStore exports them and restores
+ * them on startup), so a ticket that becomes READY or SERVED after a restart is still timed.
+ */
+@Service
+public class TicketTimingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TicketTimingService.class);
+
+    private static final String QUEUE_WAIT = "queue-wait";
+    private static final String PREP_TIME = "prep-time";
+    private static final String READY_TO_SERVED = "ready-to-served";
+
+    private final Map<String, Timer> stageTimers = new LinkedHashMap<>();
+    private final Map<Long, TicketTimeline> timelines = new ConcurrentHashMap<>();
+    private final Counter leftBoardCounter;
+    private final Duration window;
+    private final Duration maxTicketAge;
+    private final Duration leftBoardGrace;
+
+    public TicketTimingService(
+            MeterRegistry meterRegistry,
+            @Value("${kitchen-stats.window-minutes:15}") long windowMinutes,
+            @Value("${kitchen-stats.sla-minutes:5,10,15,20,30}") long[] slaMinutes,
+            @Value("${kitchen-stats.max-ticket-age-minutes:240}") long maxTicketAgeMinutes,
+            @Value("${kitchen-stats.left-board-grace-minutes:5}") long leftBoardGraceMinutes) {
+        this.window = Duration.ofMinutes(windowMinutes);
+        this.maxTicketAge = Duration.ofMinutes(maxTicketAgeMinutes);
+        this.leftBoardGrace = Duration.ofMinutes(leftBoardGraceMinutes);
+        this.leftBoardCounter = Counter.builder("kds.ticket.left-board")
+                .description("Tickets that left the board without a READY or SERVED status being reported")
+                .register(meterRegistry);
+
+        Duration[] slas = Arrays.stream(slaMinutes).mapToObj(Duration::ofMinutes).toArray(Duration[]::new);
+        for (String stage : List.of(QUEUE_WAIT, PREP_TIME, READY_TO_SERVED)) {
+            stageTimers.put(stage, Timer.builder("kds.ticket." + stage)
+                    .description("Time kitchen tickets spend in the " + stage + " stage")
+                    .serviceLevelObjectives(slas)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .distributionStatisticExpiry(window)
+                    .distributionStatisticBufferLength(5)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Board diffs: orders that appeared or changed status, and orders that left the active board
+     * A diff does not say why or when an order left, so that is only noted; the READY or SERVED
+     * event (or kitchen action) supplies the actual transition and its time
+     */
+    @EventListener
+    public void onBoardUpdated(BoardUpdatedEvent event) {
+        Instant now = Instant.now();
+        BoardChangeSet changes = event.getChanges();
+        changes.getAdded().forEach(order -> recordStatus(order.getId(), order.getStatus(), createdAt(order), changedAt(order, now)));
+        changes.getChanged().forEach(order -> recordStatus(order.getId(), order.getStatus(), createdAt(order), changedAt(order, now)));
+        changes.getRemovedIds().forEach(orderId -> timelines.computeIfPresent(orderId, (id, timeline) -> {
+            if (timeline.readyAt == null && timeline.leftBoardAt == null) {
+                timeline.leftBoardAt = now;
+            }
+            return timeline;
+        }));
+    }
+
+    /**
+     * Kitchen actions and order events, which also see READY and SERVED
+     */
+    public void recordStatus(KitchenOrderResponse order, String status, LocalDateTime occurredAt) {
+        Long orderId = order != null ? order.getId() : null;
+        if (orderId == null) {
+            return;
+        }
+        recordStatus(orderId, status, createdAt(order), occurredAt != null ? toInstant(occurredAt) : changedAt(order, Instant.now()));
+    }
+
+    public void recordStatus(Long orderId, String status, LocalDateTime occurredAt) {
+        recordStatus(orderId, status, null, occurredAt != null ? toInstant(occurredAt) : Instant.now());
+    }
+
+    /**
+     * Open tickets, for the board snapshot
+     */
+    public Map<Long, OrderTiming> exportTimings() {
+        Map<Long, OrderTiming> timings = new HashMap<>();
+        timelines.forEach((orderId, timeline) -> timings.put(orderId, new OrderTiming(
+                timeline.createdAt, timeline.preparingAt, timeline.readyAt, timeline.leftBoardAt, timeline.lastChangeAt)));
+        return timings;
+    }
+
+    /**
+     * Seed open tickets from the board snapshot; tickets already seen since startup are kept
+     */
+    public void restore(Map<Long, OrderTiming> timings) {
+        timings.forEach((orderId, timing) -> {
+            if (timing.getLastChangeAt() == null) {
+                return;
+            }
+            TicketTimeline timeline = new TicketTimeline(timing.getCreatedAt(), timing.getLastChangeAt());
+            timeline.preparingAt = timing.getPreparingAt();
+            timeline.readyAt = timing.getReadyAt();
+            timeline.leftBoardAt = timing.getLeftBoardAt();
+            timelines.putIfAbsent(orderId, timeline);
+        });
+        logger.info("Restored {} open ticket timelines", timings.size());
+    }
+
+    public KitchenStatsResponse getStats() {
+        Map<String, KitchenStatsResponse.StageStats> stages = new LinkedHashMap<>();
+        stageTimers.forEach((stage, timer) -> stages.put(stage, toStageStats(timer)));
+
+        Map<String, Long> openTickets = new LinkedHashMap<>();
+        openTickets.put(QUEUE_WAIT, timelines.values().stream()
+                .filter(t -> t.preparingAt == null && t.readyAt == null && t.leftBoardAt == null).count());
+        openTickets.put(PREP_TIME, timelines.values().stream()
+                .filter(t -> t.preparingAt != null && t.readyAt == null && t.leftBoardAt == null).count());
+        openTickets.put(READY_TO_SERVED, timelines.values().stream().filter(t -> t.readyAt != null).count());
+
+        return new KitchenStatsResponse(window.toMinutes(), stages, openTickets);
+    }
+
+    /**
+     * Forget tickets that left the board without a status being reported (e.g. while the order-events
+     * feed was down) and tickets that never reached their next stage
+     */
+    @Scheduled(fixedDelayString = "${kitchen-stats.cleanup-interval-ms:600000}")
+    public void evictStaleTickets() {
+        Instant now = Instant.now();
+        Instant leftBoardCutoff = now.minus(leftBoardGrace);
+        Instant cutoff = now.minus(maxTicketAge);
+        int before = timelines.size();
+        timelines.values().removeIf(timeline -> {
+            if (timeline.readyAt == null && timeline.leftBoardAt != null && timeline.leftBoardAt.isBefore(leftBoardCutoff)) {
+                leftBoardCounter.increment();
+                return true;
+            }
+            return timeline.lastChangeAt.isBefore(cutoff);
+        });
+        int evicted = before - timelines.size();
+        if (evicted > 0) {
+            logger.debug("Evicted {} stale ticket timelines", evicted);
+        }
+    }
+
+    private void recordStatus(Long orderId, String status, Instant createdAt, Instant at) {
+        if (status == null) {
+            return;
+        }
+
+        switch (status) {
+            case "CREATED", "CONFIRMED" -> timelines.computeIfAbsent(orderId,
+                    id -> new TicketTimeline(createdAt != null ? createdAt : at, at));
+            case "PREPARING" -> timelines.compute(orderId, (id, timeline) -> {
+                TicketTimeline current = timeline != null ? timeline : new TicketTimeline(createdAt, at);
+                if (current.preparingAt == null) {
+                    current.preparingAt = at;
+                    current.lastChangeAt = at;
+                    record(QUEUE_WAIT, current.createdAt, at);
+                }
+                return current;
+            });
+            case "READY" -> timelines.computeIfPresent(orderId, (id, timeline) -> {
+                if (timeline.readyAt == null) {
+                    timeline.readyAt = at;
+                    timeline.lastChangeAt = at;
+                    record(PREP_TIME, timeline.preparingAt, at);
+                }
+                return timeline;
+            });
+            case "SERVED" -> {
+                TicketTimeline timeline = timelines.remove(orderId);
+                if (timeline != null) {
+                    record(READY_TO_SERVED, timeline.readyAt, at);
+                }
+            }
+            default -> logger.trace("Ignoring status {} for ticket timing of order {}", status, orderId);
+        }
+    }
+
+    private void record(String stage, Instant from, Instant to) {
+        if (from == null) {
+            return;
+        }
+        Duration elapsed = Duration.between(from, to);
+        stageTimers.get(stage).record(elapsed.isNegative() ? Duration.ZERO : elapsed);
+    }
+
+    private static KitchenStatsResponse.StageStats toStageStats(Timer timer) {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        Map<Double, Double> percentiles = new LinkedHashMap<>();
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            percentiles.put(value.percentile(), value.value(TimeUnit.SECONDS));
+        }
+        return new KitchenStatsResponse.StageStats(
+                snapshot.count(),
+                percentiles.getOrDefault(0.5, 0.0),
+                percentiles.getOrDefault(0.95, 0.0),
+                percentiles.getOrDefault(0.99, 0.0),
+                snapshot.max(TimeUnit.SECONDS));
+    }
+
+    // When Order Service last changed the order, i.e. when it reached its current status
+    private static Instant changedAt(KitchenOrderResponse order, Instant fallback) {
+        return order.getUpdatedAt() != null ? toInstant(order.getUpdatedAt()) : fallback;
+    }
+
+    private static Instant createdAt(KitchenOrderResponse order) {
+        return order.getCreatedAt() != null ? toInstant(order.getCreatedAt()) : null;
+    }
+
+    // Order Service timestamps are local date-times in the same zone as KDS
+    private static Instant toInstant(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    private static class TicketTimeline {
+        private final Instant createdAt;
+        // Written under the map's per-key lock, read by stats and eviction
+        private volatile Instant preparingAt;
+        private volatile Instant readyAt;
+        // Left the active board before READY was reported; READY/SERVED may still follow
+        private volatile Instant leftBoardAt;
+        private volatile Instant lastChangeAt;
+
+        private TicketTimeline(Instant createdAt, Instant lastChangeAt) {
+            this.createdAt = createdAt;
+            this.lastChangeAt = lastChangeAt;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+-- Reads what changed on the board after a given version.
+--
+-- KEYS as in board-update.lua; ARGV[1] order hash key prefix, ARGV[2] version the reader has.
+-- Returns { version, full (0/1), id1, json1, id2, json2, ... } where an empty json means the
+-- order was removed. If the reader's version is unknown or older than the trimmed change log,
+-- full is 1 and the whole board is returned. Version 0 means nothing was written yet.
+local version = tonumber(redis.call('GET', KEYS[1]) or '0')
+local since = tonumber(ARGV[2])
+local result = { version, 0 }
+if since == version or version == 0 then
+    return result
+end
+
+local ids
+local minVersion = tonumber(redis.call('GET', KEYS[4]) or '0')
+if since < minVersion or since > version then
+    result[2] = 1
+    ids = redis.call('ZRANGE', KEYS[2], 0, -1)
+else
+    ids = redis.call('ZRANGEBYSCORE', KEYS[3], '(' .. since, '+inf')
+end
+
+for _, id in ipairs(ids) do
+    table.insert(result, id)
+    table.insert(result, redis.call('HGET', ARGV[1] .. id, 'data') or '')
+end
+return result
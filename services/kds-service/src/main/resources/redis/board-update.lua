@@ -0,0 +1,61 @@
+-- Applies board changes atomically and bumps the board version if anything changed.
+--
+-- KEYS[1] version counter, KEYS[2] orders zset (id by createdAt), KEYS[3] changes zset
+-- (id by version of its last change), KEYS[4] min-version (changes at or below it were trimmed)
+-- ARGV[1] order hash key prefix, ARGV[2] max changes to keep, ARGV[3] "full" or "partial",
+-- ARGV[4] number of upserts, then (id, createdAt score, json) per upsert, then removed ids.
+-- In "full" mode the upserts are the whole board and every other order is removed.
+local prefix = ARGV[1]
+local maxChanges = tonumber(ARGV[2])
+local full = ARGV[3] == 'full'
+local upsertEnd = 4 + tonumber(ARGV[4]) * 3
+
+local present = {}
+local changed = {}
+for i = 5, upsertEnd, 3 do
+    local id = ARGV[i]
+    present[id] = true
+    if redis.call('HGET', prefix .. id, 'data') ~= ARGV[i + 2] then
+        table.insert(changed, { id, ARGV[i + 1], ARGV[i + 2] })
+    end
+end
+
+local removed = {}
+if full then
+    for _, id in ipairs(redis.call('ZRANGE', KEYS[2], 0, -1)) do
+        if not present[id] then
+            table.insert(removed, id)
+        end
+    end
+else
+    for i = upsertEnd + 1, #ARGV do
+        if redis.call('EXISTS', prefix .. ARGV[i]) == 1 then
+            table.insert(removed, ARGV[i])
+        end
+    end
+end
+
+if #changed == 0 and #removed == 0 then
+    return tonumber(redis.call('GET', KEYS[1]) or '0')
+end
+
+local version = redis.call('INCR', KEYS[1])
+for _, order in ipairs(changed) do
+    redis.call('HSET', prefix .. order[1], 'data', order[3], 'version', version)
+    redis.call('ZADD', KEYS[2], order[2], order[1])
+    redis.call('ZADD', KEYS[3], version, order[1])
+end
+for _, id in ipairs(removed) do
+    redis.call('DEL', prefix .. id)
+    redis.call('ZREM', KEYS[2], id)
+    redis.call('ZADD', KEYS[3], version, id)
+end
+
+local excess = redis.call('ZCARD', KEYS[3]) - maxChanges
+if excess > 0 then
+    local trimmed = redis.call('ZRANGE', KEYS[3], excess - 1, excess - 1, 'WITHSCORES')
+    redis.call('SET', KEYS[4], trimmed[2])
+    redis.call('ZREMRANGEBYRANK', KEYS[3], 0, excess - 1)
+end
+
+return version
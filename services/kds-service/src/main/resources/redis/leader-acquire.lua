@@ -0,0 +1,12 @@
+-- Acquires or renews the poller lease.
+--
+-- KEYS[1] lease key; ARGV[1] instance id, ARGV[2] lease length in ms.
+-- Returns 1 if the caller holds the lease afterwards, 0 if another instance does.
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    redis.call('PEXPIRE', KEYS[1], ARGV[2])
+    return 1
+end
+if redis.call('SET', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then
+    return 1
+end
+return 0
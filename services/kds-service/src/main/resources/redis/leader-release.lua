@@ -0,0 +1,7 @@
+-- Releases the poller lease if the caller still holds it.
+--
+-- KEYS[1] lease key; ARGV[1] instance id. Returns 1 if the lease was released.
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    return redis.call('DEL', KEYS[1])
+end
+return 0
@@ -0,0 +1,131 @@
+package com.restaurant.kds_service.benchmark;
+
+import com.restaurant.kds_service.dto.OrderReadyEvent;
+import com.restaurant.events.FileSchemaRegistry;
+import com.restaurant.kds_service.serialization.OrderReadyEventAvroSerializer;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.support.serializer.JacksonJsonDeserializer;
+import org.springframework.kafka.support.serializer.JacksonJsonSerializer;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode throughput of order-ready events: current JSON path vs Avro binary
+ *
+ * JSON uses the same spring-kafka JacksonJsonSerializer/JacksonJsonDeserializer setup as the
+ * producer (no type headers). Avro decode resolves the writer schema against the latest reader
+ * schema and maps the record back to the DTO, as Waiter Service does. Payload sizes are logged
+ * once per trial.
+ *
+ * Run: ./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark=OrderReadyEventSerialization
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderReadyEventSerializationBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderReadyEventSerializationBenchmark.class);
+
+    private static final String TOPIC = "order-ready";
+
+    private OrderReadyEvent event;
+
+    private JacksonJsonSerializer<OrderReadyEvent> jsonSerializer;
+    private JacksonJsonDeserializer<OrderReadyEvent> jsonDeserializer;
+    private byte[] jsonPayload;
+
+    private OrderReadyEventAvroSerializer avroSerializer;
+    private GenericDatumReader<GenericRecord> avroReader;
+    private byte[] avroPayload;
+
+    @Setup
+    public void setUp() {
+        List<OrderReadyEvent.OrderItem> items = List.of(
+                new OrderReadyEvent.OrderItem("Chicken Pizza", 2),
+                new OrderReadyEvent.OrderItem("Caesar Salad", 1),
+                new OrderReadyEvent.OrderItem("Garlic Bread", 3),
+                new OrderReadyEvent.OrderItem("Lemonade", 4));
+        event = new OrderReadyEvent(104_233L, 12L, items, LocalDateTime.of(2025, 1, 15, 10, 45, 12));
+
+        jsonSerializer = new JacksonJsonSerializer<>();
+        jsonSerializer.configure(Map.of(JacksonJsonSerializer.ADD_TYPE_INFO_HEADERS, false), false);
+        jsonDeserializer = new JacksonJsonDeserializer<>(OrderReadyEvent.class, false);
+        jsonPayload = jsonSerializer.serialize(TOPIC, new RecordHeaders(), event);
+
+        FileSchemaRegistry schemaRegistry = new FileSchemaRegistry("classpath*:avro/");
+        Schema schema = schemaRegistry.getSchema(schemaRegistry.getLatestId(OrderReadyEventAvroSerializer.SUBJECT)).orElseThrow();
+        avroSerializer = new OrderReadyEventAvroSerializer(schemaRegistry);
+        avroReader = new GenericDatumReader<>(schema, schema);
+        avroPayload = avroSerializer.serialize(TOPIC, new RecordHeaders(), event);
+
+        logger.info("Payload size: json={} bytes, avro={} bytes", jsonPayload.length, avroPayload.length);
+    }
+
+    @TearDown
+    public void tearDown() {
+        jsonSerializer.close();
+        jsonDeserializer.close();
+    }
+
+    @Benchmark
+    public byte[] encodeJson() {
+        return jsonSerializer.serialize(TOPIC, new RecordHeaders(), event);
+    }
+
+    @Benchmark
+    public byte[] encodeAvro() {
+        return avroSerializer.serialize(TOPIC, new RecordHeaders(), event);
+    }
+
+    @Benchmark
+    public OrderReadyEvent decodeJson() {
+        return jsonDeserializer.deserialize(TOPIC, new RecordHeaders(), jsonPayload);
+    }
+
+    @Benchmark
+    public OrderReadyEvent decodeAvro() throws IOException {
+        BinaryDecoder decoder = DecoderFactory.get().binaryDecoder(avroPayload, null);
+        return toEvent(avroReader.read(null, decoder));
+    }
+
+    private static OrderReadyEvent toEvent(GenericRecord record) {
+        List<OrderReadyEvent.OrderItem> items = new ArrayList<>();
+        for (Object item : (List<?>) record.get("items")) {
+            GenericRecord itemRecord = (GenericRecord) item;
+            Object itemName = itemRecord.get("itemName");
+            items.add(new OrderReadyEvent.OrderItem(itemName != null ? itemName.toString() : null,
+                    (Integer) itemRecord.get("quantity")));
+        }
+        Long readyAt = (Long) record.get("readyAt");
+        return new OrderReadyEvent((Long) record.get("orderId"), (Long) record.get("tableId"), items,
+                readyAt != null ? LocalDateTime.ofInstant(Instant.ofEpochMilli(readyAt), ZoneOffset.UTC) : null);
+    }
+}
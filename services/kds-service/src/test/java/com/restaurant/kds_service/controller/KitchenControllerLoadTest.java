@@ -0,0 +1,124 @@
+package com.restaurant.kds_service.controller;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load test for kitchen actions against a slow Order Service
+ *
+ * Every Order Service call takes 300ms. Request handling and kitchen actions run on virtual
+ * threads, so more calls must be in flight at Order Service at once than the 19 the former
+ * platform thread pool allowed. Only the peak number of concurrent calls is asserted: how long
+ * the burst takes depends on the machine running the test.
+ *
+ * The connection pool keeps its shipped settings (64 per route, 1s pool timeout), so the test
+ * also checks that the executor never asks for more connections than the pool has, and that
+ * no action fails waiting for one.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "order-events.enabled=false",
+        "board-snapshot.enabled=false",
+        "redis.enabled=false"
+})
+class KitchenControllerLoadTest {
+
+    private static final int REQUESTS = 60;
+    private static final int PLATFORM_POOL_THREADS = 19;
+    private static final long ORDER_SERVICE_DELAY_MS = 300;
+    private static final int MAX_CONNECTIONS_PER_ROUTE = 64;
+
+    private static final AtomicInteger inFlight = new AtomicInteger();
+    private static final AtomicInteger peakInFlight = new AtomicInteger();
+    private static HttpServer slowOrderService;
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @DynamicPropertySource
+    static void orderServiceProperties(DynamicPropertyRegistry registry) throws IOException {
+        slowOrderService = HttpServer.create(new InetSocketAddress("localhost", 0), REQUESTS * 2);
+        slowOrderService.setExecutor(Executors.newCachedThreadPool());
+        slowOrderService.createContext("/api/orders", KitchenControllerLoadTest::handleOrderService);
+        slowOrderService.start();
+        registry.add("order-service.base-url",
+                () -> "http://localhost:" + slowOrderService.getAddress().getPort() + "/api/orders");
+    }
+
+    @AfterAll
+    static void stopOrderService() {
+        slowOrderService.stop(0);
+    }
+
+    @Test
+    void markOrderPreparing_SlowOrderService_ConcurrencyNotCappedByPlatformThreadPool() {
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newFixedThreadPool(REQUESTS))
+                .build();
+
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (long orderId = 1; orderId <= REQUESTS; orderId++) {
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create("http://localhost:" + port + "/api/kitchen/orders/" + orderId + "/preparing"))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+        CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).join();
+
+        responses.forEach(response -> assertEquals(200, response.join().statusCode()));
+        assertTrue(peakInFlight.get() > PLATFORM_POOL_THREADS,
+                "Expected more than " + PLATFORM_POOL_THREADS + " concurrent Order Service calls, peak was " + peakInFlight.get());
+        assertTrue(peakInFlight.get() <= MAX_CONNECTIONS_PER_ROUTE,
+                "Peak of " + peakInFlight.get() + " calls exceeds the connection pool");
+    }
+
+    private static void handleOrderService(HttpExchange exchange) throws IOException {
+        String body;
+        if ("PATCH".equals(exchange.getRequestMethod())) {
+            int current = inFlight.incrementAndGet();
+            peakInFlight.accumulateAndGet(current, Math::max);
+            try {
+                Thread.sleep(ORDER_SERVICE_DELAY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            // /api/orders/{orderId}/status
+            String orderId = exchange.getRequestURI().getPath().split("/")[3];
+            body = "{\"id\":" + orderId + ",\"tableId\":1,\"userId\":1,\"status\":\"PREPARING\",\"items\":[]}";
+        } else {
+            // Polling of /api/orders/active
+            body = "[]";
+        }
+
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
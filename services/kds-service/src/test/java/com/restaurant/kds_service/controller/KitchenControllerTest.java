@@ -0,0 +1,241 @@
+package com.restaurant.kds_service.controller;
+
+import com.restaurant.kds_service.config.KitchenStationProperties;
+import com.restaurant.kds_service.dto.BoardSnapshot;
+import com.restaurant.kds_service.dto.KitchenOrderResponse;
+import com.restaurant.kds_service.service.AdaptivePollingInterval;
+import com.restaurant.kds_service.service.BoardResponseCache;
+import com.restaurant.kds_service.service.KafkaPublisherService;
+import com.restaurant.kds_service.service.KitchenBoardStreamService;
+import com.restaurant.kds_service.service.KitchenService;
+import com.restaurant.kds_service.service.KitchenStationRouter;
+import com.restaurant.kds_service.service.OrderPollingService;
+import com.restaurant.kds_service.service.TicketTimingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /orders serves the cached board as plain JSON or gzip as Accept-Encoding allows, per station,
+ * and 304 while If-None-Match matches the board's ETag.
+ * Kitchen actions that Order Service rejects (an order that already moved on, an unknown order)
+ * answer with Order Service's status and body instead of a 500, and publish no order-ready event.
+ */
+class KitchenControllerTest {
+
+    private static final String CONFLICT_BODY =
+            "{\"status\":409,\"error\":\"Conflict\",\"message\":\"Order 7 is no longer PREPARING\"}";
+
+    private RestTemplate restTemplate;
+    private KafkaPublisherService kafkaPublisherService;
+    private OrderPollingService orderPollingService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        restTemplate = mock(RestTemplate.class);
+        kafkaPublisherService = mock(KafkaPublisherService.class);
+        KitchenService kitchenService = new KitchenService(restTemplate, kafkaPublisherService,
+                mock(AdaptivePollingInterval.class), mock(TicketTimingService.class),
+                new TaskExecutorAdapter(Runnable::run), "http://order-service/api/orders");
+
+        KitchenStationProperties stations = new KitchenStationProperties();
+        stations.setStations(Map.of("grill", Set.of(1L), "fryer", Set.of(3L)));
+        KitchenStationRouter stationRouter = new KitchenStationRouter(stations);
+        orderPollingService = mock(OrderPollingService.class);
+        when(orderPollingService.getBoardSnapshot())
+                .thenReturn(BoardSnapshot.of(1, List.of(order(1L, 1L, 3L), order(2L, 3L))));
+        BoardResponseCache boardResponseCache =
+                new BoardResponseCache(orderPollingService, stationRouter, JsonMapper.builder().build());
+
+        KitchenController controller = new KitchenController(kitchenService, mock(KitchenBoardStreamService.class),
+                boardResponseCache, mock(TicketTimingService.class), stationRouter);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void getActiveOrders_NoAcceptEncoding_PlainJsonWithETag() throws Exception {
+        mockMvc.perform(get("/api/kitchen/orders"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().json("[{\"id\":1},{\"id\":2}]"));
+    }
+
+    @Test
+    void getActiveOrders_AcceptsGzip_GzippedBoard() throws Exception {
+        byte[] plain = mockMvc.perform(get("/api/kitchen/orders"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        byte[] gzipped = mockMvc.perform(get("/api/kitchen/orders").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertArrayEquals(plain, gunzip(gzipped));
+    }
+
+    @Test
+    void getActiveOrders_GzipRefused_PlainJson() throws Exception {
+        for (String acceptEncoding : List.of("gzip;q=0", "gzip; q=0.0, identity", "br, *;q=0", "*, gzip;q=0", "identity")) {
+            mockMvc.perform(get("/api/kitchen/orders").header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                    .andExpect(content().json("[{\"id\":1},{\"id\":2}]"));
+        }
+        mockMvc.perform(get("/api/kitchen/orders").header(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, GZIP;q=0.5"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+        mockMvc.perform(get("/api/kitchen/orders").header(HttpHeaders.ACCEPT_ENCODING, "*"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+    }
+
+    @Test
+    void getActiveOrders_MatchingETag_NotModifiedUntilBoardChanges() throws Exception {
+        String eTag = mockMvc.perform(get("/api/kitchen/orders"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/kitchen/orders").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().bytes(new byte[0]));
+
+        when(orderPollingService.getBoardSnapshot()).thenReturn(BoardSnapshot.of(2, List.of(order(2L, 3L))));
+
+        mockMvc.perform(get("/api/kitchen/orders").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"id\":2}]"));
+    }
+
+    @Test
+    void getActiveOrders_Station_OwnETagAndOrders() throws Exception {
+        String fullETag = mockMvc.perform(get("/api/kitchen/orders"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        String grillETag = mockMvc.perform(get("/api/kitchen/orders").param("station", "grill"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"id\":1,\"items\":[{\"itemId\":1}]}]"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(fullETag, grillETag);
+
+        mockMvc.perform(get("/api/kitchen/orders").param("station", "fryer").header(HttpHeaders.IF_NONE_MATCH, grillETag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/kitchen/orders").param("station", "grill").header(HttpHeaders.IF_NONE_MATCH, grillETag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/kitchen/orders").param("station", "pastry"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void markOrderReady_OrderServiceConflict_Returns409WithBody() throws Exception {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.PATCH), any(HttpEntity.class), eq(KitchenOrderResponse.class)))
+                .thenThrow(rejection(HttpStatus.CONFLICT, CONFLICT_BODY));
+
+        performAsync(post("/api/kitchen/orders/7/ready"))
+                .andExpect(status().isConflict())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(content().json(CONFLICT_BODY));
+
+        verify(kafkaPublisherService, never()).publishOrderReadyEvent(any());
+    }
+
+    @Test
+    void markOrderPreparing_UnknownOrder_Returns404() throws Exception {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.PATCH), any(HttpEntity.class), eq(KitchenOrderResponse.class)))
+                .thenThrow(rejection(HttpStatus.NOT_FOUND, "{\"status\":404,\"message\":\"Order not found with id: 99\"}"));
+
+        performAsync(post("/api/kitchen/orders/99/preparing"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void batchStatus_OrderServiceConflict_Returns409() throws Exception {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+                .thenThrow(rejection(HttpStatus.CONFLICT, CONFLICT_BODY));
+
+        performAsync(post("/api/kitchen/orders/batch-status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"orderIds\":[7,8],\"status\":\"READY\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(content().json(CONFLICT_BODY));
+
+        verify(kafkaPublisherService, never()).publishOrderReadyEvent(any());
+    }
+
+    private ResultActions performAsync(RequestBuilder request) throws Exception {
+        MvcResult started = mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
+
+    private static byte[] gunzip(byte[] data) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static KitchenOrderResponse order(Long id, Long... itemIds) {
+        KitchenOrderResponse order = new KitchenOrderResponse();
+        order.setId(id);
+        order.setTableId(1L);
+        order.setStatus("PREPARING");
+        order.setCreatedAt(LocalDateTime.of(2026, 1, 1, 12, 0).plusMinutes(id));
+        order.setItems(Arrays.stream(itemIds)
+                .map(itemId -> new KitchenOrderResponse.OrderItem(null, itemId, "Item " + itemId, 1, BigDecimal.ONE))
+                .toList());
+        return order;
+    }
+
+    private static HttpClientErrorException rejection(HttpStatus status, String body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return HttpClientErrorException.create(status, status.getReasonPhrase(), headers,
+                body.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,53 @@
+package com.restaurant.kds_service.serialization;
+
+import com.restaurant.events.FileSchemaRegistry;
+import com.restaurant.kds_service.dto.OrderReadyEvent;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * KDS side of the order-ready contract: the serializer writes exactly the payload in
+ * shared/order-events (avro/order-ready-v1.hex), which Waiter Service's deserializer test decodes
+ */
+class OrderReadyEventAvroSerializerTest {
+
+    private final OrderReadyEventAvroSerializer serializer =
+            new OrderReadyEventAvroSerializer(new FileSchemaRegistry("classpath*:avro/"));
+
+    @Test
+    void serialize_MatchesSharedPayloadAndSetsSchemaIdHeader() throws Exception {
+        RecordHeaders headers = new RecordHeaders();
+
+        byte[] payload = serializer.serialize("order-ready", headers, event());
+
+        assertArrayEquals(sharedPayload(), payload);
+        Header schemaId = headers.lastHeader(OrderReadyEventAvroSerializer.SCHEMA_ID_HEADER);
+        assertEquals("order-ready-v1", new String(schemaId.value(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void serialize_WithoutHeaders_WritesPayload() throws Exception {
+        assertArrayEquals(sharedPayload(), serializer.serialize("order-ready", event()));
+        assertNull(serializer.serialize("order-ready", null));
+    }
+
+    private static OrderReadyEvent event() {
+        return new OrderReadyEvent(42L, 7L, List.of(new OrderReadyEvent.OrderItem("Soup", 2)),
+                LocalDateTime.of(2025, 1, 15, 10, 45));
+    }
+
+    private static byte[] sharedPayload() throws Exception {
+        try (InputStream in = OrderReadyEventAvroSerializerTest.class.getResourceAsStream("/avro/order-ready-v1.hex")) {
+            return HexFormat.of().parseHex(new String(in.readAllBytes(), StandardCharsets.US_ASCII).trim());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.restaurant.kds_service.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Polling speeds up after activity, slows down to the maximum interval while the board is idle,
+ * and backs off exponentially (with jitter, up to the cap) while Order Service keeps failing
+ */
+class AdaptivePollingIntervalTest {
+
+    private static final long BASE_MS = 3000;
+    private static final long MIN_MS = 1000;
+    private static final long MAX_MS = 15000;
+    private static final long MAX_BACKOFF_MS = 60000;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void nextDelayMs_NoActivity_BacksOffToMaxInterval() throws InterruptedException {
+        AdaptivePollingInterval interval = newInterval(200, 600);
+
+        assertEquals(MIN_MS, interval.nextDelayMs(), "Burst rate right after startup");
+
+        Thread.sleep(300);
+        assertEquals(BASE_MS, interval.nextDelayMs(), "Normal rate after the burst window");
+
+        Thread.sleep(400);
+        assertEquals(MAX_MS, interval.nextDelayMs(), "Idle rate once nothing changed for a while");
+        assertEquals(MAX_MS, interval.nextDelayMs(), "Never slower than the maximum interval");
+        assertEquals(MAX_MS, meterRegistry.get("kds.polling.interval").gauge().value());
+    }
+
+    @Test
+    void nextDelayMs_ActivityWhileIdle_BackToBurstRate() throws InterruptedException {
+        AdaptivePollingInterval interval = newInterval(200, 300);
+        Thread.sleep(400);
+        assertEquals(MAX_MS, interval.nextDelayMs());
+
+        interval.recordActivity();
+
+        assertEquals(MIN_MS, interval.nextDelayMs());
+    }
+
+    @Test
+    void nextDelayMs_ConsecutiveFailures_ExponentialBackoffWithJitterUpToCap() {
+        AdaptivePollingInterval interval = newInterval(30_000, 300_000);
+
+        for (int failures = 1; failures <= 8; failures++) {
+            interval.recordFailure();
+            long backoff = Math.min(MAX_BACKOFF_MS, BASE_MS << (failures - 1));
+            for (int sample = 0; sample < 50; sample++) {
+                long delay = interval.nextDelayMs();
+                assertTrue(delay >= backoff / 2 && delay <= backoff,
+                        failures + " failures: " + delay + "ms outside [" + backoff / 2 + ", " + backoff + "]");
+            }
+        }
+        for (int i = 0; i < 100; i++) {
+            interval.recordFailure();
+        }
+        assertTrue(interval.nextDelayMs() <= MAX_BACKOFF_MS, "Back-off must stay capped after many failures");
+    }
+
+    @Test
+    void nextDelayMs_SuccessAfterFailures_BackOffReset() {
+        AdaptivePollingInterval interval = newInterval(30_000, 300_000);
+        for (int i = 0; i < 5; i++) {
+            interval.recordFailure();
+        }
+        assertTrue(interval.nextDelayMs() > BASE_MS);
+
+        interval.recordSuccess();
+
+        assertEquals(MIN_MS, interval.nextDelayMs());
+    }
+
+    @Test
+    void nextDelayMs_Standby_NormalRateWithoutBackoff() {
+        AdaptivePollingInterval interval = newInterval(30_000, 300_000);
+        interval.recordFailure();
+        interval.recordFailure();
+
+        interval.recordStandby();
+
+        assertEquals(BASE_MS, interval.nextDelayMs());
+    }
+
+    private AdaptivePollingInterval newInterval(long burstWindowMs, long idleAfterMs) {
+        return new AdaptivePollingInterval(meterRegistry, BASE_MS, MIN_MS, MAX_MS, MAX_BACKOFF_MS,
+                burstWindowMs, idleAfterMs);
+    }
+}
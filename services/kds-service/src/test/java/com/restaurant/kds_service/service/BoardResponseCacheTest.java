@@ -0,0 +1,115 @@
+package com.restaurant.kds_service.service;
+
+import com.restaurant.kds_service.config.KitchenStationProperties;
+import com.restaurant.kds_service.dto.BoardSnapshot;
+import com.restaurant.kds_service.dto.KitchenOrderResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The board is serialized once per version and station; the ETag follows the board version and
+ * differs per station, and the gzip bytes are the same JSON
+ */
+class BoardResponseCacheTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private OrderPollingService orderPollingService;
+    private BoardResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        orderPollingService = mock(OrderPollingService.class);
+        KitchenStationProperties properties = new KitchenStationProperties();
+        properties.setStations(Map.of("grill", Set.of(1L), "fryer", Set.of(3L)));
+        cache = new BoardResponseCache(orderPollingService, new KitchenStationRouter(properties), jsonMapper);
+    }
+
+    @Test
+    void current_SameVersion_SameSerializedBoard() {
+        when(orderPollingService.getBoardSnapshot()).thenReturn(BoardSnapshot.of(1, List.of(order(1L, 1L, 3L))));
+
+        BoardResponseCache.CachedBoard first = cache.current(null);
+        BoardResponseCache.CachedBoard second = cache.current(null);
+
+        assertSame(first, second);
+        assertEquals(1, first.orderCount());
+    }
+
+    @Test
+    void current_NewVersion_NewETag() {
+        when(orderPollingService.getBoardSnapshot()).thenReturn(BoardSnapshot.of(1, List.of(order(1L, 1L))));
+        BoardResponseCache.CachedBoard before = cache.current(null);
+
+        when(orderPollingService.getBoardSnapshot())
+                .thenReturn(BoardSnapshot.of(2, List.of(order(1L, 1L), order(2L, 3L))));
+        BoardResponseCache.CachedBoard after = cache.current(null);
+
+        assertNotEquals(before.eTag(), after.eTag());
+        assertEquals(2, after.orderCount());
+        assertTrue(after.eTag().startsWith("\"") && after.eTag().endsWith("\""), "ETag must be quoted");
+    }
+
+    @Test
+    void current_PerStation_OwnETagAndOrders() {
+        when(orderPollingService.getBoardSnapshot())
+                .thenReturn(BoardSnapshot.of(1, List.of(order(1L, 1L, 3L), order(2L, 3L))));
+
+        BoardResponseCache.CachedBoard full = cache.current(null);
+        BoardResponseCache.CachedBoard grill = cache.current("grill");
+        BoardResponseCache.CachedBoard fryer = cache.current("fryer");
+
+        assertEquals(3, Set.of(full.eTag(), grill.eTag(), fryer.eTag()).size());
+        assertEquals(2, full.orderCount());
+        assertEquals(1, grill.orderCount());
+        assertEquals(2, fryer.orderCount());
+        assertSame(grill, cache.current("grill"));
+
+        KitchenOrderResponse[] grillOrders = jsonMapper.readValue(grill.json(), KitchenOrderResponse[].class);
+        assertEquals(List.of(1L), grillOrders[0].getItems().stream()
+                .map(KitchenOrderResponse.OrderItem::getItemId).toList());
+    }
+
+    @Test
+    void current_GzippedIsSameJson() throws IOException {
+        when(orderPollingService.getBoardSnapshot()).thenReturn(BoardSnapshot.of(1, List.of(order(1L, 1L))));
+
+        BoardResponseCache.CachedBoard board = cache.current(null);
+
+        assertArrayEquals(board.json(), gunzip(board.gzipped()));
+    }
+
+    private static byte[] gunzip(byte[] data) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static KitchenOrderResponse order(Long id, Long... itemIds) {
+        KitchenOrderResponse order = new KitchenOrderResponse();
+        order.setId(id);
+        order.setTableId(1L);
+        order.setStatus("PREPARING");
+        order.setCreatedAt(LocalDateTime.of(2026, 1, 1, 12, 0).plusMinutes(id));
+        order.setItems(Arrays.stream(itemIds)
+                .map(itemId -> new KitchenOrderResponse.OrderItem(null, itemId, "Item " + itemId, 1, BigDecimal.ONE))
+                .toList());
+        return order;
+    }
+}
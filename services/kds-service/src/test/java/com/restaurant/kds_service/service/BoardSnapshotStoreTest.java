@@ -0,0 +1,68 @@
+package com.restaurant.kds_service.service;
+
+import com.restaurant.kds_service.dto.BoardChangeSet;
+import com.restaurant.kds_service.dto.BoardSnapshot;
+import com.restaurant.kds_service.dto.BoardUpdatedEvent;
+import com.restaurant.kds_service.dto.KitchenOrderResponse;
+import com.restaurant.kds_service.dto.KitchenStatsResponse;
+import com.restaurant.kds_service.dto.PersistedBoard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Ticket timings are persisted with the board, so a ticket started before a restart is still
+ * timed when it becomes READY afterwards
+ */
+class BoardSnapshotStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void restart_TicketPreparingBeforeRestart_PrepTimeRecordedAfterRestart() throws Exception {
+        String file = directory.resolve("kds-board.json").toString();
+        JsonMapper jsonMapper = JsonMapper.builder().build();
+
+        TicketTimingService timingBefore = timingService();
+        BoardSnapshotStore storeBefore = new BoardSnapshotStore(jsonMapper, timingBefore, true, file, 60_000);
+        KitchenOrderResponse order = order(1L, "PREPARING");
+        timingBefore.recordStatus(order, "CREATED", LocalDateTime.now().minusMinutes(10));
+        timingBefore.recordStatus(order, "PREPARING", LocalDateTime.now().minusMinutes(6));
+        BoardSnapshot board = BoardSnapshot.of(1, List.of(order));
+        storeBefore.onBoardUpdated(new BoardUpdatedEvent(board, BoardChangeSet.between(BoardSnapshot.empty(), board)));
+        storeBefore.shutdown();
+
+        TicketTimingService timingAfter = timingService();
+        BoardSnapshotStore storeAfter = new BoardSnapshotStore(jsonMapper, timingAfter, true, file, 60_000);
+        PersistedBoard restored = storeAfter.load().orElseThrow();
+        assertEquals(List.of(1L), restored.getOrders().stream().map(KitchenOrderResponse::getId).toList());
+        assertEquals(1L, timingAfter.getStats().getOpenTickets().get("prep-time"));
+
+        timingAfter.recordStatus(order, "READY", LocalDateTime.now());
+
+        KitchenStatsResponse.StageStats prepTime = timingAfter.getStats().getStages().get("prep-time");
+        assertEquals(1, prepTime.getCount());
+        assertTrue(prepTime.getMaxSeconds() >= 5 * 60, "Prep time should start before the restart");
+    }
+
+    private static TicketTimingService timingService() {
+        return new TicketTimingService(new SimpleMeterRegistry(), 15, new long[]{5, 10}, 240, 5);
+    }
+
+    private static KitchenOrderResponse order(Long id, String status) {
+        KitchenOrderResponse order = new KitchenOrderResponse();
+        order.setId(id);
+        order.setStatus(status);
+        order.setCreatedAt(LocalDateTime.now().minusMinutes(10));
+        order.setItems(List.of());
+        return order;
+    }
+}
@@ -0,0 +1,310 @@
+package com.restaurant.kds_service.service;
+
+import com.restaurant.kds_service.config.KitchenStationProperties;
+import com.restaurant.kds_service.dto.BoardChangeSet;
+import com.restaurant.kds_service.dto.BoardSnapshot;
+import com.restaurant.kds_service.dto.BoardUpdatedEvent;
+import com.restaurant.kds_service.dto.KitchenOrderResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Every screen gets the snapshot first and then the changes in board order; a stuck screen does
+ * not hold up the others and is dropped once its queue is full. Station screens only see changes
+ * to their own items, as additions and removals when an order gains or loses the station's items.
+ */
+class KitchenBoardStreamServiceTest {
+
+    private OrderPollingService orderPollingService;
+    private KitchenStationRouter stationRouter;
+    private TestStreamService streamService;
+    private BoardSnapshot board;
+
+    @BeforeEach
+    void setUp() {
+        board = BoardSnapshot.of(1, List.of(order(1L, "PREPARING", item(1L, 1))));
+        orderPollingService = mock(OrderPollingService.class);
+        when(orderPollingService.getBoardSnapshot()).thenReturn(board);
+
+        KitchenStationProperties properties = new KitchenStationProperties();
+        properties.setStations(Map.of("grill", Set.of(1L), "fryer", Set.of(3L)));
+        stationRouter = new KitchenStationRouter(properties);
+        streamService = new TestStreamService(orderPollingService, stationRouter, 256);
+    }
+
+    @AfterEach
+    void tearDown() {
+        streamService.shutdown();
+    }
+
+    @Test
+    void subscribe_SnapshotBeforeChanges() {
+        List<KitchenOrderResponse> initialOrders = board.getOrders();
+        RecordingEmitter screen = streamService.subscribeWith(new RecordingEmitter(), null);
+        publish(order(1L, "PREPARING", item(1L, 1)), order(2L, "CREATED", item(3L, 1)));
+
+        awaitEvents(screen, 2);
+        assertEquals(List.of("snapshot", "order-added"), screen.names());
+        assertEquals(List.of("1", "2"), screen.ids());
+        assertEquals(initialOrders, screen.events.get(0).data());
+        assertEquals(2L, ((KitchenOrderResponse) screen.events.get(1).data()).getId());
+    }
+
+    @Test
+    void onBoardUpdated_ManyChanges_SentInBoardOrder() {
+        RecordingEmitter screen = streamService.subscribeWith(new RecordingEmitter(), null);
+
+        List<String> expectedIds = new ArrayList<>(List.of("1"));
+        for (int i = 0; i < 50; i++) {
+            publish(order(1L, i % 2 == 0 ? "READY" : "PREPARING", item(1L, 1)));
+            expectedIds.add(String.valueOf(board.getVersion()));
+        }
+
+        awaitEvents(screen, 51);
+        assertEquals(expectedIds, screen.ids());
+        assertTrue(screen.names().subList(1, 51).stream().allMatch("order-updated"::equals));
+    }
+
+    @Test
+    void onBoardUpdated_StuckScreen_OthersStillServed() {
+        RecordingEmitter stuck = streamService.subscribeWith(new RecordingEmitter(new CountDownLatch(1)), null);
+        RecordingEmitter healthy = streamService.subscribeWith(new RecordingEmitter(), null);
+        stuck.awaitBlocked();
+
+        publish(order(1L, "READY", item(1L, 1)));
+        publish(order(1L, "READY", item(1L, 1)), order(2L, "CREATED", item(3L, 1)));
+
+        awaitEvents(healthy, 3);
+        assertEquals(List.of("snapshot", "order-updated", "order-added"), healthy.names());
+        assertEquals(1, stuck.events.size(), "The stuck screen is still sending its snapshot");
+        assertNull(stuck.failure);
+
+        stuck.release.countDown();
+        awaitEvents(stuck, 3);
+        assertEquals(healthy.names(), stuck.names());
+    }
+
+    @Test
+    void onBoardUpdated_QueueOverflow_ScreenDropped() {
+        int maxQueuedEvents = 4;
+        streamService.shutdown();
+        streamService = new TestStreamService(orderPollingService, stationRouter, maxQueuedEvents);
+        RecordingEmitter stuck = streamService.subscribeWith(new RecordingEmitter(new CountDownLatch(1)), null);
+        stuck.awaitBlocked();
+
+        // The snapshot is being sent; the next changes fill the queue and the one after overflows it
+        for (int i = 0; i <= maxQueuedEvents; i++) {
+            publish(order(1L, i % 2 == 0 ? "READY" : "PREPARING", item(1L, 1)));
+        }
+
+        await(() -> stuck.failure != null);
+        assertInstanceOf(IOException.class, stuck.failure);
+
+        stuck.release.countDown();
+        RecordingEmitter later = streamService.subscribeWith(new RecordingEmitter(), null);
+        publish(order(1L, "SERVED", item(1L, 1)));
+        awaitEvents(later, 2);
+        assertEquals(1, stuck.events.size(), "A dropped screen gets nothing more");
+    }
+
+    @Test
+    void onBoardUpdated_StationView_AddUpdateRemoveTransitions() {
+        RecordingEmitter grill = streamService.subscribeWith(new RecordingEmitter(), "grill");
+        RecordingEmitter fryer = streamService.subscribeWith(new RecordingEmitter(), "fryer");
+
+        // Order 1 gains a fryer item: added for the fryer, no change for the grill
+        publish(order(1L, "PREPARING", item(1L, 1), item(3L, 1)));
+        // Fryer quantity changes: updated for the fryer only
+        publish(order(1L, "PREPARING", item(1L, 1), item(3L, 2)));
+        // Grill quantity changes: updated for the grill only
+        publish(order(1L, "PREPARING", item(1L, 2), item(3L, 2)));
+        // Grill item taken off the order: removed from the grill's board
+        publish(order(1L, "PREPARING", item(3L, 2)));
+        // Order removed: only the fryer still had it
+        publish();
+
+        awaitEvents(fryer, 4);
+        awaitEvents(grill, 3);
+        assertEquals(List.of("snapshot", "order-updated", "order-removed"), grill.names());
+        assertEquals(List.of("1", "4", "5"), grill.ids());
+        KitchenOrderResponse grillView = (KitchenOrderResponse) grill.events.get(1).data();
+        assertEquals(List.of(1L), itemIds(grillView));
+        assertEquals(2, grillView.getItems().get(0).getQuantity());
+        assertEquals(Map.of("id", 1L), grill.events.get(2).data());
+
+        assertEquals(List.of("snapshot", "order-added", "order-updated", "order-removed"), fryer.names());
+        assertEquals(List.of("1", "2", "3", "6"), fryer.ids());
+        assertEquals(List.of(), fryer.events.get(0).data(), "The fryer has nothing on the first board");
+        assertEquals(List.of(3L), itemIds((KitchenOrderResponse) fryer.events.get(1).data()));
+    }
+
+    private void publish(KitchenOrderResponse... orders) {
+        BoardSnapshot next = BoardSnapshot.of(board.getVersion() + 1, List.of(orders));
+        streamService.onBoardUpdated(new BoardUpdatedEvent(next, BoardChangeSet.between(board, next)));
+        board = next;
+    }
+
+    private static void awaitEvents(RecordingEmitter screen, int count) {
+        await(() -> screen.events.size() >= count);
+        assertEquals(count, screen.events.size(), "Unexpected events: " + screen.names());
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Timed out waiting for the board stream");
+            }
+            Thread.onSpinWait();
+        }
+        // Give a stray extra event the chance to show up
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static List<Long> itemIds(KitchenOrderResponse order) {
+        return order.getItems().stream().map(KitchenOrderResponse.OrderItem::getItemId).toList();
+    }
+
+    private static KitchenOrderResponse order(Long id, String status, KitchenOrderResponse.OrderItem... items) {
+        KitchenOrderResponse order = new KitchenOrderResponse();
+        order.setId(id);
+        order.setTableId(1L);
+        order.setStatus(status);
+        order.setCreatedAt(LocalDateTime.of(2026, 1, 1, 12, 0).plusMinutes(id));
+        order.setItems(List.of(items));
+        return order;
+    }
+
+    private static KitchenOrderResponse.OrderItem item(Long itemId, int quantity) {
+        return new KitchenOrderResponse.OrderItem(itemId * 10, itemId, "Item " + itemId, quantity, BigDecimal.ONE);
+    }
+
+    private static class TestStreamService extends KitchenBoardStreamService {
+
+        private RecordingEmitter nextEmitter;
+
+        TestStreamService(OrderPollingService orderPollingService, KitchenStationRouter stationRouter,
+                          int maxQueuedEvents) {
+            super(orderPollingService, stationRouter, 60_000, maxQueuedEvents);
+        }
+
+        RecordingEmitter subscribeWith(RecordingEmitter emitter, String station) {
+            nextEmitter = emitter;
+            subscribe(station);
+            return emitter;
+        }
+
+        @Override
+        SseEmitter newEmitter() {
+            return nextEmitter;
+        }
+    }
+
+    private record SentEvent(String id, String name, Object data) {
+    }
+
+    /**
+     * Records what the service sends; with a release latch the first send blocks until released,
+     * like a screen that stopped reading
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private static final Pattern FIELD = Pattern.compile("^(id|event):(.*)$", Pattern.MULTILINE);
+
+        final List<SentEvent> events = new CopyOnWriteArrayList<>();
+        final CountDownLatch release;
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        volatile Throwable failure;
+
+        RecordingEmitter() {
+            this(null);
+        }
+
+        RecordingEmitter(CountDownLatch release) {
+            super(60_000L);
+            this.release = release;
+        }
+
+        @Override
+        public void send(Set<ResponseBodyEmitter.DataWithMediaType> items) {
+            StringBuilder text = new StringBuilder();
+            Object data = null;
+            for (ResponseBodyEmitter.DataWithMediaType item : items) {
+                if (item.getData() instanceof String part) {
+                    text.append(part);
+                } else {
+                    data = item.getData();
+                }
+            }
+            String id = null;
+            String name = null;
+            Matcher field = FIELD.matcher(text);
+            while (field.find()) {
+                if (field.group(1).equals("id")) {
+                    id = field.group(2);
+                } else {
+                    name = field.group(2);
+                }
+            }
+            if (name == null) {
+                return; // heartbeat
+            }
+            events.add(new SentEvent(id, name, data));
+
+            if (release != null) {
+                blocked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            failure = ex;
+        }
+
+        void awaitBlocked() {
+            try {
+                assertTrue(blocked.await(5, TimeUnit.SECONDS), "Screen never started sending");
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+        }
+
+        List<String> names() {
+            return events.stream().map(SentEvent::name).toList();
+        }
+
+        List<String> ids() {
+            return events.stream().map(SentEvent::id).toList();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.restaurant.kds_service.service;
+
+import com.restaurant.kds_service.config.KitchenStationProperties;
+import com.restaurant.kds_service.dto.BoardSnapshot;
+import com.restaurant.kds_service.dto.KitchenOrderResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Each station sees only orders with its items, and only those items, oldest first; views follow
+ * the board version
+ */
+class KitchenStationRouterTest {
+
+    private KitchenStationRouter router;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, Set<Long>> stations = new LinkedHashMap<>();
+        stations.put("grill", Set.of(1L, 2L));
+        stations.put("fryer", Set.of(3L));
+        stations.put("bar", Set.of(2L, 9L));
+        KitchenStationProperties properties = new KitchenStationProperties();
+        properties.setStations(stations);
+        router = new KitchenStationRouter(properties);
+    }
+
+    @Test
+    void ordersFor_OnlyStationOrdersAndItems() {
+        KitchenOrderResponse burgerAndFries = order(1L, 1L, 3L);
+        KitchenOrderResponse friesOnly = order(2L, 3L);
+        BoardSnapshot board = BoardSnapshot.of(1, List.of(burgerAndFries, friesOnly));
+
+        List<KitchenOrderResponse> grill = router.ordersFor(board, "grill");
+        assertEquals(List.of(1L), ids(grill));
+        assertEquals(List.of(1L), itemIds(grill.get(0)));
+        assertEquals(2, burgerAndFries.getItems().size(), "The board's order must not be modified");
+
+        List<KitchenOrderResponse> fryer = router.ordersFor(board, "fryer");
+        assertEquals(List.of(1L, 2L), ids(fryer));
+        assertSame(friesOnly, fryer.get(1), "Orders with only the station's items are shared as is");
+    }
+
+    @Test
+    void ordersFor_ItemOnSeveralStations_ShownOnEach() {
+        BoardSnapshot board = BoardSnapshot.of(1, List.of(order(1L, 2L, 9L)));
+
+        assertEquals(List.of(2L), itemIds(router.ordersFor(board, "grill").get(0)));
+        assertEquals(List.of(2L, 9L), itemIds(router.ordersFor(board, "bar").get(0)));
+        assertTrue(router.ordersFor(board, "fryer").isEmpty());
+    }
+
+    @Test
+    void ordersFor_UnmappedItemsAndUnknownStation() {
+        BoardSnapshot board = BoardSnapshot.of(1, List.of(order(1L, 42L)));
+
+        assertTrue(router.ordersFor(board, "grill").isEmpty());
+        assertTrue(router.ordersFor(board, "pastry").isEmpty());
+        assertFalse(router.isKnownStation("pastry"));
+        assertTrue(router.isKnownStation("grill"));
+    }
+
+    @Test
+    void ordersFor_NewBoardVersion_ViewsRebuilt() {
+        router.ordersFor(BoardSnapshot.of(1, List.of(order(1L, 1L))), "grill");
+
+        List<KitchenOrderResponse> grill = router.ordersFor(
+                BoardSnapshot.of(2, List.of(order(1L, 1L), order(2L, 2L))), "grill");
+
+        assertEquals(List.of(1L, 2L), ids(grill));
+    }
+
+    private static List<Long> ids(List<KitchenOrderResponse> orders) {
+        return orders.stream().map(KitchenOrderResponse::getId).toList();
+    }
+
+    private static List<Long> itemIds(KitchenOrderResponse order) {
+        return order.getItems().stream().map(KitchenOrderResponse.OrderItem::getItemId).toList();
+    }
+
+    private static KitchenOrderResponse order(Long id, Long... itemIds) {
+        KitchenOrderResponse order = new KitchenOrderResponse();
+        order.setId(id);
+        order.setTableId(1L);
+        order.setStatus("PREPARING");
+        order.setCreatedAt(LocalDateTime.of(2026, 1, 1, 12, 0).plusMinutes(id));
+        order.setItems(Arrays.stream(itemIds)
+                .map(itemId -> new KitchenOrderResponse.OrderItem(null, itemId, "Item " + itemId, 1, BigDecimal.ONE))
+                .toList());
+        return order;
+    }
+}
@@ -0,0 +1,173 @@
+package com.restaurant.kds_service.service;
+
+import com.restaurant.kds_service.dto.BoardUpdatedEvent;
+import com.restaurant.kds_service.dto.KitchenOrderResponse;
+import com.restaurant.kds_service.dto.OrderChangeEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A reconcile poll must not roll back order events applied while it was in flight.
+ * The stubbed Order Service applies an event during the request and then answers with the
+ * snapshot it took before that event. Board updates are published after the board lock is released.
+ */
+class OrderPollingServiceTest {
+
+    private RestTemplate restTemplate;
+    private OrderPollingService pollingService;
+
+    @BeforeEach
+    void setUp() {
+        restTemplate = mock(RestTemplate.class);
+        BoardSnapshotStore boardSnapshotStore = mock(BoardSnapshotStore.class);
+        when(boardSnapshotStore.load()).thenReturn(Optional.empty());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AdaptivePollingInterval pollingInterval = new AdaptivePollingInterval(
+                meterRegistry, 3000, 1000, 15000, 60000, 30000, 300000);
+
+        pollingService = new OrderPollingService(restTemplate, mock(ApplicationEventPublisher.class),
+                boardSnapshotStore, pollingInterval, meterRegistry, "http://order-service/api/orders", 3000, 30000);
+    }
+
+    @Test
+    void poll_OrderCreatedByEventDuringPoll_Kept() {
+        pollReturning(List.of(order(1L, "CREATED", 0L)));
+
+        pollReturning(List.of(order(1L, "CREATED", 0L)), event(order(2L, "CREATED", 0L)));
+
+        assertEquals(List.of(1L, 2L), boardIds());
+    }
+
+    @Test
+    void poll_OlderVersionThanEventDuringPoll_EventStateKept() {
+        pollReturning(List.of(order(1L, "CREATED", 0L)));
+
+        pollReturning(List.of(order(1L, "CREATED", 0L)), event(order(1L, "PREPARING", 1L)));
+
+        assertEquals("PREPARING", pollingService.getActiveOrders().get(0).getStatus());
+        assertEquals(1L, pollingService.getActiveOrders().get(0).getVersion());
+    }
+
+    @Test
+    void poll_OrderRemovedByEventDuringPoll_StaysRemoved() {
+        pollReturning(List.of(order(1L, "PREPARING", 1L), order(2L, "CREATED", 0L)));
+
+        pollReturning(List.of(order(1L, "PREPARING", 1L), order(2L, "CREATED", 0L)),
+                event(order(1L, "READY", 2L)));
+
+        assertEquals(List.of(2L), boardIds());
+    }
+
+    @Test
+    void poll_NewerVersionThanEvent_PollWins() {
+        pollReturning(List.of(order(1L, "CREATED", 0L)));
+
+        pollReturning(List.of(order(1L, "PREPARING", 2L)), event(order(1L, "CONFIRMED", 1L)));
+
+        assertEquals("PREPARING", pollingService.getActiveOrders().get(0).getStatus());
+    }
+
+    @Test
+    void applyOrderEvent_OlderThanBoard_Ignored() {
+        pollReturning(List.of(order(1L, "PREPARING", 2L)));
+
+        pollingService.applyOrderEvent(event(order(1L, "CONFIRMED", 1L)));
+
+        assertEquals("PREPARING", pollingService.getActiveOrders().get(0).getStatus());
+    }
+
+    @Test
+    void boardUpdatedEvents_PublishedOutsideBoardLockInVersionOrder() {
+        // A listener that waits for another board update would deadlock if events were published
+        // while holding the board lock
+        List<Long> publishedVersions = new CopyOnWriteArrayList<>();
+        AtomicReference<OrderPollingService> service = new AtomicReference<>();
+        AtomicBoolean nestedUpdateCompleted = new AtomicBoolean();
+        ApplicationEventPublisher publisher = published -> {
+            BoardUpdatedEvent boardUpdated = (BoardUpdatedEvent) published;
+            publishedVersions.add(boardUpdated.getSnapshot().getVersion());
+            if (publishedVersions.size() == 1) {
+                try {
+                    CompletableFuture.runAsync(() -> service.get().applyOrderEvent(event(order(2L, "CREATED", 0L))))
+                            .get(2, TimeUnit.SECONDS);
+                    nestedUpdateCompleted.set(true);
+                } catch (Exception e) {
+                    // Timed out: the board lock was held while publishing
+                }
+            }
+        };
+        BoardSnapshotStore boardSnapshotStore = mock(BoardSnapshotStore.class);
+        when(boardSnapshotStore.load()).thenReturn(Optional.empty());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        service.set(new OrderPollingService(restTemplate, publisher, boardSnapshotStore,
+                new AdaptivePollingInterval(meterRegistry, 3000, 1000, 15000, 60000, 30000, 300000),
+                meterRegistry, "http://order-service/api/orders", 3000, 30000));
+
+        service.get().applyOrderEvent(event(order(1L, "CREATED", 0L)));
+
+        assertTrue(nestedUpdateCompleted.get());
+        assertEquals(List.of(1L, 2L), publishedVersions);
+        assertEquals(2, service.get().getActiveOrders().size());
+    }
+
+    private void pollReturning(List<KitchenOrderResponse> snapshot, OrderChangeEvent... duringPoll) {
+        doAnswer(invocation -> {
+            for (OrderChangeEvent event : duringPoll) {
+                pollingService.applyOrderEvent(event);
+            }
+            return ResponseEntity.ok(snapshot);
+        }).when(restTemplate).exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class));
+        pollingService.pollActiveOrders();
+    }
+
+    private List<Long> boardIds() {
+        return pollingService.getActiveOrders().stream().map(KitchenOrderResponse::getId).toList();
+    }
+
+    private static KitchenOrderResponse order(Long id, String status, Long version) {
+        KitchenOrderResponse order = new KitchenOrderResponse();
+        order.setId(id);
+        order.setTableId(1L);
+        order.setUserId(1L);
+        order.setStatus(status);
+        order.setCreatedAt(LocalDateTime.of(2026, 1, 1, 12, 0).plusMinutes(id));
+        order.setItems(List.of());
+        order.setVersion(version);
+        return order;
+    }
+
+    private static OrderChangeEvent event(KitchenOrderResponse order) {
+        OrderChangeEvent event = new OrderChangeEvent();
+        event.setEventType("ORDER_STATUS_CHANGED");
+        event.setOrderId(order.getId());
+        event.setStatus(order.getStatus());
+        event.setOrder(order);
+        event.setOccurredAt(LocalDateTime.now());
+        return event;
+    }
+}
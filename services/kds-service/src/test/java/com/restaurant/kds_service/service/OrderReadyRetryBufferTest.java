@@ -0,0 +1,116 @@
+package com.restaurant.kds_service.service;
+
+import com.restaurant.kds_service.dto.OrderReadyEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unacknowledged order-ready events survive a restart on disk and are replayed oldest first,
+ * each file deleted only once Kafka acknowledged it
+ */
+class OrderReadyRetryBufferTest {
+
+    private static final String TOPIC = "order-ready";
+
+    @TempDir
+    Path directory;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private KafkaTemplate<String, OrderReadyEvent> kafkaTemplate;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        kafkaTemplate = mock(KafkaTemplate.class);
+    }
+
+    @Test
+    void store_EventsSurviveRestart() {
+        OrderReadyRetryBuffer before = buffer();
+        assertTrue(before.store(event(1L)));
+        assertTrue(before.store(event(2L)));
+
+        OrderReadyRetryBuffer after = buffer();
+
+        assertEquals(2, after.size());
+        List<Path> files = after.list();
+        assertEquals(1L, after.read(files.get(0)).orElseThrow().getOrderId());
+        OrderReadyEvent second = after.read(files.get(1)).orElseThrow();
+        assertEquals(2L, second.getOrderId());
+        assertEquals(event(2L), second);
+    }
+
+    @Test
+    void replay_SendsOldestFirstAndRemovesAcknowledged() {
+        OrderReadyRetryBuffer buffer = buffer();
+        buffer.store(event(3L));
+        buffer.store(event(1L));
+        buffer.store(event(2L));
+        when(kafkaTemplate.send(eq(TOPIC), anyString(), any(OrderReadyEvent.class))).thenReturn(acknowledged());
+
+        publisher(buffer).replayBufferedEvents();
+
+        var sends = inOrder(kafkaTemplate);
+        sends.verify(kafkaTemplate).send(TOPIC, "3", event(3L));
+        sends.verify(kafkaTemplate).send(TOPIC, "1", event(1L));
+        sends.verify(kafkaTemplate).send(TOPIC, "2", event(2L));
+        assertEquals(0, buffer.size());
+        assertTrue(buffer.list().isEmpty());
+    }
+
+    @Test
+    void replay_StopsAtFirstFailureAndKeepsRest() {
+        OrderReadyRetryBuffer buffer = buffer();
+        buffer.store(event(1L));
+        buffer.store(event(2L));
+        buffer.store(event(3L));
+        when(kafkaTemplate.send(TOPIC, "1", event(1L))).thenReturn(acknowledged());
+        when(kafkaTemplate.send(TOPIC, "2", event(2L)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker unavailable")));
+
+        publisher(buffer).replayBufferedEvents();
+
+        verify(kafkaTemplate, never()).send(TOPIC, "3", event(3L));
+        assertEquals(2, buffer.size());
+        List<Path> left = buffer.list();
+        assertEquals(List.of(2L, 3L), left.stream().map(file -> buffer.read(file).orElseThrow().getOrderId()).toList());
+    }
+
+    private OrderReadyRetryBuffer buffer() {
+        return new OrderReadyRetryBuffer(jsonMapper, new SimpleMeterRegistry(), directory.toString());
+    }
+
+    private KafkaPublisherService publisher(OrderReadyRetryBuffer buffer) {
+        return new KafkaPublisherService(kafkaTemplate, buffer, new SimpleMeterRegistry(), TOPIC, 1000);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompletableFuture<SendResult<String, OrderReadyEvent>> acknowledged() {
+        return CompletableFuture.completedFuture(mock(SendResult.class));
+    }
+
+    private static OrderReadyEvent event(Long orderId) {
+        return new OrderReadyEvent(orderId, 4L, List.of(new OrderReadyEvent.OrderItem("Soup", 1)),
+                LocalDateTime.of(2026, 1, 1, 12, 0));
+    }
+}
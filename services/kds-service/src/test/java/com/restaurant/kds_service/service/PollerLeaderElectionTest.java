@@ -0,0 +1,95 @@
+package com.restaurant.kds_service.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * One replica holds the poller lease at a time; it passes on when released or when the leader
+ * stops renewing, and a replica that can't reach Redis stops treating itself as leader
+ */
+class PollerLeaderElectionTest {
+
+    private static final long LEASE_MS = 500;
+
+    @Test
+    void acquireOrRenew_OnlyOneLeader() {
+        StringRedisTemplate redisTemplate = redis();
+        PollerLeaderElection first = election(redisTemplate);
+        PollerLeaderElection second = election(redisTemplate);
+
+        first.acquireOrRenew();
+        second.acquireOrRenew();
+        first.acquireOrRenew();
+
+        assertTrue(first.isLeader());
+        assertFalse(second.isLeader());
+    }
+
+    @Test
+    void release_NextReplicaTakesOver() {
+        StringRedisTemplate redisTemplate = redis();
+        PollerLeaderElection first = election(redisTemplate);
+        PollerLeaderElection second = election(redisTemplate);
+        first.acquireOrRenew();
+
+        first.release();
+        second.acquireOrRenew();
+
+        assertFalse(first.isLeader());
+        assertTrue(second.isLeader());
+    }
+
+    @Test
+    void leaseExpired_NextReplicaTakesOverAndOldLeaderStepsDown() throws Exception {
+        StringRedisTemplate redisTemplate = redis();
+        PollerLeaderElection first = election(redisTemplate);
+        PollerLeaderElection second = election(redisTemplate);
+        first.acquireOrRenew();
+
+        // The leader stops renewing (e.g. a long GC pause)
+        Thread.sleep(LEASE_MS + 200);
+
+        assertFalse(first.isLeader(), "A lease that was not renewed in time counts as lost");
+        second.acquireOrRenew();
+        assertTrue(second.isLeader());
+        first.acquireOrRenew();
+        assertFalse(first.isLeader());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void acquireOrRenew_RedisUnavailable_NotLeader() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(1L)
+                .thenThrow(new RedisConnectionFailureException("Redis down"));
+        PollerLeaderElection election = election(redisTemplate);
+
+        election.acquireOrRenew();
+        assertTrue(election.isLeader());
+
+        election.acquireOrRenew();
+        assertFalse(election.isLeader());
+    }
+
+    private static StringRedisTemplate redis() {
+        StringRedisTemplate redisTemplate = RedisTestContainer.template();
+        redisTemplate.delete(List.of("kds:{board}:poller-leader"));
+        return redisTemplate;
+    }
+
+    private static PollerLeaderElection election(StringRedisTemplate redisTemplate) {
+        return new PollerLeaderElection(redisTemplate, new SimpleMeterRegistry(), LEASE_MS, 100);
+    }
+}
@@ -0,0 +1,107 @@
+package com.restaurant.kds_service.service;
+
+import com.restaurant.kds_service.dto.BoardChangeSet;
+import com.restaurant.kds_service.dto.BoardSnapshot;
+import com.restaurant.kds_service.dto.KitchenOrderResponse;
+import com.restaurant.kds_service.dto.SharedBoardDelta;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The board Lua scripts against a real Redis: the version only moves when something changed,
+ * readers get just the changes since their version, and readers behind the trimmed change log
+ * get the full board
+ */
+class RedisBoardStoreTest {
+
+    private RedisBoardStore boardStore;
+
+    @BeforeEach
+    void setUp() {
+        StringRedisTemplate redisTemplate = RedisTestContainer.template();
+        RedisTestContainer.flush(redisTemplate);
+        boardStore = new RedisBoardStore(redisTemplate, JsonMapper.builder().build(), 2);
+    }
+
+    @Test
+    void writeFullBoard_UnchangedBoard_VersionStays() {
+        List<KitchenOrderResponse> board = List.of(order(1L, "CREATED"), order(2L, "PREPARING"));
+
+        assertEquals(1, boardStore.writeFullBoard(board));
+        assertEquals(1, boardStore.writeFullBoard(board));
+
+        assertTrue(boardStore.readChangesSince(1).isEmpty());
+    }
+
+    @Test
+    void readChangesSince_ReturnsOnlyChangedAndRemovedOrders() {
+        boardStore.writeFullBoard(List.of(order(1L, "CREATED"), order(2L, "CREATED"), order(3L, "CREATED")));
+
+        // Full write: order 1 changed, order 3 left the board, order 2 untouched
+        long version = boardStore.writeFullBoard(List.of(order(1L, "PREPARING"), order(2L, "CREATED")));
+
+        SharedBoardDelta delta = boardStore.readChangesSince(1);
+        assertEquals(2, version);
+        assertEquals(2, delta.getVersion());
+        assertFalse(delta.isFull());
+        assertEquals(List.of(1L), ids(delta.getUpserts()));
+        assertEquals("PREPARING", delta.getUpserts().get(0).getStatus());
+        assertEquals(List.of(3L), delta.getRemovedIds());
+    }
+
+    @Test
+    void writeChanges_PartialUpdateLeavesOtherOrders() {
+        BoardSnapshot before = BoardSnapshot.of(1, List.of(order(1L, "CREATED"), order(2L, "CREATED")));
+        boardStore.writeFullBoard(before.getOrders());
+        BoardSnapshot after = BoardSnapshot.of(2, List.of(order(2L, "CREATED"), order(4L, "CREATED")));
+
+        long version = boardStore.writeChanges(BoardChangeSet.between(before, after));
+
+        assertEquals(2, version);
+        SharedBoardDelta delta = boardStore.readChangesSince(1);
+        assertEquals(List.of(4L), ids(delta.getUpserts()));
+        assertEquals(List.of(1L), delta.getRemovedIds());
+        assertEquals(List.of(2L, 4L), ids(boardStore.readChangesSince(0).getUpserts()));
+    }
+
+    @Test
+    void readChangesSince_BehindTrimmedChangeLog_FullBoard() {
+        // max-tracked-changes is 2, so the change of version 1 is trimmed after version 3
+        boardStore.writeChanges(added(order(1L, "CREATED")));
+        boardStore.writeChanges(added(order(2L, "CREATED")));
+        boardStore.writeChanges(added(order(3L, "CREATED")));
+
+        SharedBoardDelta behind = boardStore.readChangesSince(0);
+        assertTrue(behind.isFull());
+        assertEquals(List.of(1L, 2L, 3L), ids(behind.getUpserts()));
+
+        SharedBoardDelta recent = boardStore.readChangesSince(1);
+        assertFalse(recent.isFull());
+        assertEquals(List.of(2L, 3L), ids(recent.getUpserts()));
+    }
+
+    private static BoardChangeSet added(KitchenOrderResponse order) {
+        return BoardChangeSet.between(BoardSnapshot.empty(), BoardSnapshot.of(1, List.of(order)));
+    }
+
+    private static List<Long> ids(List<KitchenOrderResponse> orders) {
+        return orders.stream().map(KitchenOrderResponse::getId).sorted().toList();
+    }
+
+    private static KitchenOrderResponse order(Long id, String status) {
+        KitchenOrderResponse order = new KitchenOrderResponse();
+        order.setId(id);
+        order.setTableId(1L);
+        order.setStatus(status);
+        order.setCreatedAt(LocalDateTime.of(2026, 1, 1, 12, 0).plusMinutes(id));
+        order.setItems(List.of());
+        return order;
+    }
+}
@@ -0,0 +1,38 @@
+package com.restaurant.kds_service.service;
+
+import org.junit.jupiter.api.Assumptions;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * One throwaway Redis per test JVM for the Lua script tests; they are skipped without Docker
+ */
+final class RedisTestContainer {
+
+    private static GenericContainer<?> redis;
+
+    private RedisTestContainer() {
+    }
+
+    static synchronized StringRedisTemplate template() {
+        Assumptions.assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is required for Redis tests");
+        if (redis == null) {
+            redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine")).withExposedPorts(6379);
+            redis.start();
+        }
+
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(redis.getHost(), redis.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        StringRedisTemplate template = new StringRedisTemplate(connectionFactory);
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    static void flush(StringRedisTemplate template) {
+        template.delete(template.keys("kds:*"));
+    }
+}
@@ -0,0 +1,81 @@
+package com.restaurant.kds_service.service;
+
+import com.restaurant.kds_service.dto.BoardChangeSet;
+import com.restaurant.kds_service.dto.BoardSnapshot;
+import com.restaurant.kds_service.dto.BoardUpdatedEvent;
+import com.restaurant.kds_service.dto.KitchenOrderResponse;
+import com.restaurant.kds_service.dto.KitchenStatsResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * An order leaving the board is not READY: the event's timestamp decides the prep time, and a
+ * removal no event explains is counted separately
+ */
+class TicketTimingServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TicketTimingService timingService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // No grace period, so evictStaleTickets() settles removals right away
+        timingService = new TicketTimingService(meterRegistry, 15, new long[]{5, 10}, 240, 0);
+    }
+
+    @Test
+    void leftBoardThenReadyEvent_PrepTimeUsesEventTimestamp() {
+        LocalDateTime preparingAt = LocalDateTime.now().minusMinutes(20);
+        KitchenOrderResponse order = order(1L, "PREPARING", preparingAt);
+        BoardSnapshot board = BoardSnapshot.of(1, List.of(order));
+        timingService.onBoardUpdated(new BoardUpdatedEvent(board, BoardChangeSet.between(BoardSnapshot.empty(), board)));
+
+        // Order leaves the board 20 minutes after PREPARING, but the event says it was READY after 8
+        BoardSnapshot empty = BoardSnapshot.of(2, List.of());
+        timingService.onBoardUpdated(new BoardUpdatedEvent(empty, BoardChangeSet.between(board, empty)));
+        assertEquals(0, prepTime().getCount(), "Leaving the board must not record READY");
+
+        timingService.recordStatus(order, "READY", preparingAt.plusMinutes(8));
+
+        assertEquals(1, prepTime().getCount());
+        assertEquals(8 * 60, prepTime().getMaxSeconds(), 1.0);
+        timingService.evictStaleTickets();
+        assertEquals(0, meterRegistry.counter("kds.ticket.left-board").count());
+    }
+
+    @Test
+    void leftBoardWithoutEvent_CountedAsLeftBoard() {
+        KitchenOrderResponse order = order(2L, "PREPARING", LocalDateTime.now().minusMinutes(5));
+        BoardSnapshot board = BoardSnapshot.of(1, List.of(order));
+        timingService.onBoardUpdated(new BoardUpdatedEvent(board, BoardChangeSet.between(BoardSnapshot.empty(), board)));
+        BoardSnapshot empty = BoardSnapshot.of(2, List.of());
+        timingService.onBoardUpdated(new BoardUpdatedEvent(empty, BoardChangeSet.between(board, empty)));
+
+        timingService.evictStaleTickets();
+
+        assertEquals(1, meterRegistry.counter("kds.ticket.left-board").count());
+        assertEquals(0, prepTime().getCount());
+        assertEquals(0L, timingService.getStats().getOpenTickets().get("prep-time"));
+    }
+
+    private KitchenStatsResponse.StageStats prepTime() {
+        return timingService.getStats().getStages().get("prep-time");
+    }
+
+    private static KitchenOrderResponse order(Long id, String status, LocalDateTime updatedAt) {
+        KitchenOrderResponse order = new KitchenOrderResponse();
+        order.setId(id);
+        order.setStatus(status);
+        order.setCreatedAt(updatedAt.minusMinutes(3));
+        order.setUpdatedAt(updatedAt);
+        order.setItems(List.of());
+        return order;
+    }
+}
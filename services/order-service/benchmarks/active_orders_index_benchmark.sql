@@ -0,0 +1,99 @@
+-- ============================================================
+-- BENCHMARK: ACTIVE-ORDER QUERY LATENCY BEFORE/AFTER INDEXES
+-- ============================================================
+-- Seeds 1,000,000 historical (SERVED) orders plus 50 active ones into a
+-- scratch database, then times the order-service hot queries without and
+-- with the indexes from db/migration (V2 status index, V7 history indexes).
+--
+-- HOW TO USE (MySQL 8.0.18+ for EXPLAIN ANALYZE):
+--   mysql -u root -p < benchmarks/active_orders_index_benchmark.sql
+--
+-- Compare the "actual time" of the top node in each EXPLAIN ANALYZE block:
+--   before: Table scan on orders (rows=1000050) + filesort
+--   after:  Index range scan on orders using idx_orders_status_created
+-- Drops the scratch database at the end.
+-- ============================================================
+
+DROP DATABASE IF EXISTS orderdb_bench;
+CREATE DATABASE orderdb_bench;
+USE orderdb_bench;
+
+-- Same columns as V1, but without secondary indexes
+CREATE TABLE orders (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    table_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    status ENUM('CREATED', 'CONFIRMED', 'PREPARING', 'READY', 'SERVED') NOT NULL,
+    total_amount DECIMAL(10,2),
+    created_at DATETIME(6) NOT NULL
+);
+
+-- 10 x 10 x 10 x 10 x 10 x 10 = 1,000,000 rows
+CREATE TABLE digits (d INT PRIMARY KEY);
+INSERT INTO digits VALUES (0), (1), (2), (3), (4), (5), (6), (7), (8), (9);
+
+-- ~2 years of history: one order every ~63 seconds, 40 tables, 5,000 users
+INSERT INTO orders (table_id, user_id, status, total_amount, created_at)
+SELECT
+    1 + (n % 40),
+    1 + (n % 5000),
+    'SERVED',
+    10 + (n % 90),
+    TIMESTAMPADD(SECOND, n * 63, '2024-01-01 00:00:00')
+FROM (
+    SELECT a.d + b.d * 10 + c.d * 100 + e.d * 1000 + f.d * 10000 + g.d * 100000 AS n
+    FROM digits a, digits b, digits c, digits e, digits f, digits g
+) seq;
+
+-- The current dinner rush: 50 active orders
+INSERT INTO orders (table_id, user_id, status, total_amount, created_at)
+SELECT
+    1 + (n % 40),
+    1 + (n % 5000),
+    ELT(1 + (n % 3), 'CREATED', 'CONFIRMED', 'PREPARING'),
+    25.00,
+    TIMESTAMPADD(MINUTE, -n, NOW())
+FROM (SELECT a.d + b.d * 10 AS n FROM digits a, digits b) seq
+WHERE n < 50;
+
+ANALYZE TABLE orders;
+
+-- ------------------------------------------------------------
+-- BEFORE: no secondary indexes
+-- ------------------------------------------------------------
+SELECT 'BEFORE - active orders' AS benchmark;
+EXPLAIN ANALYZE
+SELECT * FROM orders WHERE status IN ('CREATED', 'CONFIRMED', 'PREPARING') ORDER BY created_at ASC;
+
+SELECT 'BEFORE - table history page' AS benchmark;
+EXPLAIN ANALYZE
+SELECT * FROM orders WHERE table_id = 7 ORDER BY created_at DESC, id DESC LIMIT 21;
+
+SELECT 'BEFORE - user history page' AS benchmark;
+EXPLAIN ANALYZE
+SELECT * FROM orders WHERE user_id = 42 ORDER BY created_at DESC, id DESC LIMIT 21;
+
+-- ------------------------------------------------------------
+-- Apply the indexes from V2 and V7
+-- ------------------------------------------------------------
+CREATE INDEX idx_orders_table_created ON orders (table_id, created_at, id);
+CREATE INDEX idx_orders_user_created ON orders (user_id, created_at, id);
+CREATE INDEX idx_orders_status_created ON orders (status, created_at);
+ANALYZE TABLE orders;
+
+-- ------------------------------------------------------------
+-- AFTER
+-- ------------------------------------------------------------
+SELECT 'AFTER - active orders' AS benchmark;
+EXPLAIN ANALYZE
+SELECT * FROM orders WHERE status IN ('CREATED', 'CONFIRMED', 'PREPARING') ORDER BY created_at ASC;
+
+SELECT 'AFTER - table history page' AS benchmark;
+EXPLAIN ANALYZE
+SELECT * FROM orders WHERE table_id = 7 ORDER BY created_at DESC, id DESC LIMIT 21;
+
+SELECT 'AFTER - user history page' AS benchmark;
+EXPLAIN ANALYZE
+SELECT * FROM orders WHERE user_id = 42 ORDER BY created_at DESC, id DESC LIMIT 21;
+
+DROP DATABASE orderdb_bench;
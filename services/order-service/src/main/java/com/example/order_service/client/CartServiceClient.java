@@ -1,6 +1,11 @@
 package com.example.order_service.client;
 import com.example.order_service.dto.CartResponseDto;
 import com.example.order_service.exception.BadRequestException;
+import com.example.order_service.exception.ServiceUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,15 +13,24 @@ import org.springframework.http.*;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+import java.util.Collection;
+import java.util.function.Supplier;
 @Component
 public class CartServiceClient {
     private static final Logger logger = LoggerFactory.getLogger(CartServiceClient.class);
     private final RestTemplate restTemplate;
     private final String cartServiceBaseUrl;
-    public CartServiceClient(RestTemplate restTemplate, @Value("${cart-service.base-url}") String cartServiceBaseUrl) {
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    public CartServiceClient(RestTemplate restTemplate, @Value("${cart-service.base-url}") String cartServiceBaseUrl,
+                             CircuitBreaker cartServiceCircuitBreaker, Bulkhead cartServiceBulkhead) {
         this.restTemplate = restTemplate;
         this.cartServiceBaseUrl = cartServiceBaseUrl;
+        this.circuitBreaker = cartServiceCircuitBreaker;
+        this.bulkhead = cartServiceBulkhead;
     }
     public CartResponseDto getCart(String authorizationHeader, Long userId, Long tableId) {
         String url = cartServiceBaseUrl;
@@ -27,38 +41,62 @@ public class CartServiceClient {
         headers.set("X-Table-Id", String.valueOf(tableId));
         HttpEntity<Void> requestEntity = new HttpEntity<>(headers);
         try {
-            ResponseEntity<CartResponseDto> response = restTemplate.exchange(url, HttpMethod.GET, requestEntity, CartResponseDto.class);
+            ResponseEntity<CartResponseDto> response = call(() -> restTemplate.exchange(url, HttpMethod.GET, requestEntity, CartResponseDto.class));
             CartResponseDto cart = response.getBody();
             logger.info("Cart fetched - userId: {}, items: {}", cart != null ? cart.getUserId() : null, cart != null && cart.getItems() != null ? cart.getItems().size() : 0);
             return cart;
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            logger.warn("Cart Service call rejected without calling it: {}", e.getMessage());
+            throw new ServiceUnavailableException("Cart Service is currently unavailable. Please try again shortly.");
         } catch (HttpClientErrorException e) {
             logger.error("Cart Service error: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
             if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
                 throw new BadRequestException("Cart not found. Please add items to cart before placing an order.");
             }
             throw new BadRequestException("Failed to fetch cart: " + e.getMessage());
-        } catch (HttpServerErrorException e) {
-            logger.error("Cart Service unavailable: {}", e.getStatusCode());
-            throw new BadRequestException("Cart Service is currently unavailable.");
+        } catch (HttpServerErrorException | ResourceAccessException e) {
+            logger.error("Cart Service unavailable: {}", e.getMessage());
+            throw new ServiceUnavailableException("Cart Service is currently unavailable.");
         } catch (Exception e) {
             logger.error("Error fetching cart", e);
             throw new BadRequestException("Failed to fetch cart: " + e.getMessage());
         }
     }
-    public void clearCart(String authorizationHeader, Long userId, Long tableId) {
-        String url = cartServiceBaseUrl;
-        logger.info("Clearing cart via Cart Service: {} for userId: {}, tableId: {}", url, userId, tableId);
+    /**
+     * Remove the given items from the user's cart (the items of an order that was just placed)
+     * with a single bulk DELETE. Runs from the outbox relay, long after the user's request, so the
+     * user's token is not available; like the other internal calls it identifies the cart by the
+     * X-User-Id and X-Table-Id headers. Cart Service skips items that are no longer in the cart,
+     * so a retry is safe.
+     * Failures are thrown, not swallowed, so the outbox relay can retry.
+     */
+    public void removeOrderedItems(Long userId, Long tableId, Collection<Long> itemIds) {
+        String url = UriComponentsBuilder.fromUriString(cartServiceBaseUrl)
+                .path("/items")
+                .queryParam("itemIds", itemIds.toArray())
+                .toUriString();
+        logger.info("Removing {} ordered items from cart via Cart Service: {} for userId: {}, tableId: {}",
+                itemIds.size(), url, userId, tableId);
+
         HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", authorizationHeader);
         headers.set("X-User-Id", String.valueOf(userId));
         headers.set("X-Table-Id", String.valueOf(tableId));
         HttpEntity<Void> requestEntity = new HttpEntity<>(headers);
+
         try {
-            restTemplate.exchange(url, HttpMethod.DELETE, requestEntity, Void.class);
-            logger.info("Cart cleared successfully for userId: {}", userId);
-        } catch (Exception e) {
-            logger.error("Failed to clear cart (non-critical): {}", e.getMessage());
+            call(() -> restTemplate.exchange(url, HttpMethod.DELETE, requestEntity, Void.class));
+        } catch (HttpClientErrorException.NotFound e) {
+            logger.info("No cart left for userId: {}, nothing to remove", userId);
+            return;
         }
+        logger.info("Ordered items removed from cart for userId: {}", userId);
     }
-}
 
+    /**
+     * Rejected immediately with CallNotPermittedException while the circuit is open,
+     * or BulkheadFullException when too many Cart Service calls are already in flight
+     */
+    private <T> T call(Supplier<T> request) {
+        return circuitBreaker.executeSupplier(() -> bulkhead.executeSupplier(request));
+    }
+}
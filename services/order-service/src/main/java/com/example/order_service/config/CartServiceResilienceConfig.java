@@ -0,0 +1,87 @@
+package com.example.order_service.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker and bulkhead for Cart Service calls (see CartServiceClient).
+ *
+ * - The circuit breaker opens when too many recent calls fail or are slow, so an outage is
+ *   rejected immediately instead of every request waiting for its own timeout.
+ * - The bulkhead caps concurrent calls and rejects the rest without waiting, so a slow
+ *   Cart Service can only ever occupy that many request threads.
+ *
+ * Metrics: resilience4j.circuitbreaker.* and resilience4j.bulkhead.* tagged name=cart-service.
+ */
+@Configuration
+public class CartServiceResilienceConfig {
+
+    public static final String CART_SERVICE = "cart-service";
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry(
+            @Value("${cart-service.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${cart-service.circuit-breaker.slow-call-duration-ms:2000}") long slowCallDurationMs,
+            @Value("${cart-service.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${cart-service.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${cart-service.circuit-breaker.open-duration-ms:10000}") long openDurationMs) {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallDurationMs))
+                .waitDurationInOpenState(Duration.ofMillis(openDurationMs))
+                .permittedNumberOfCallsInHalfOpenState(3)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                // 4xx (e.g. cart not found) means Cart Service is up; shed load is not a failure either
+                .ignoreExceptions(HttpClientErrorException.class, BulkheadFullException.class)
+                .build();
+        return CircuitBreakerRegistry.of(config);
+    }
+
+    @Bean
+    public BulkheadRegistry bulkheadRegistry(
+            @Value("${cart-service.bulkhead.max-concurrent-calls:20}") int maxConcurrentCalls) {
+        BulkheadConfig config = BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build();
+        return BulkheadRegistry.of(config);
+    }
+
+    @Bean
+    public CircuitBreaker cartServiceCircuitBreaker(CircuitBreakerRegistry circuitBreakerRegistry) {
+        return circuitBreakerRegistry.circuitBreaker(CART_SERVICE);
+    }
+
+    @Bean
+    public Bulkhead cartServiceBulkhead(BulkheadRegistry bulkheadRegistry) {
+        return bulkheadRegistry.bulkhead(CART_SERVICE);
+    }
+
+    @Bean
+    public MeterBinder circuitBreakerMetrics(CircuitBreakerRegistry circuitBreakerRegistry) {
+        return TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry);
+    }
+
+    @Bean
+    public MeterBinder bulkheadMetrics(BulkheadRegistry bulkheadRegistry) {
+        return TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry);
+    }
+}
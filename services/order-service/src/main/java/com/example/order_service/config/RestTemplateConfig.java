@@ -1,15 +1,82 @@
 package com.example.order_service.config;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+/**
+ * RestTemplate for Cart Service backed by a pooled Apache HttpClient5.
+ * Every call is bounded by connect, pool-wait and response timeouts so a slow Cart Service
+ * can't hold request threads indefinitely. Connections are kept alive and reused.
+ *
+ * Metrics: httpcomponents.httpclient.pool.* (leased/pending/available per pool) and
+ * http.client.requests (latency histogram per uri/status).
+ */
 @Configuration
 public class RestTemplateConfig {
 
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager httpConnectionManager(
+            @Value("${http-client.max-connections:50}") int maxConnections,
+            @Value("${http-client.max-connections-per-route:20}") int maxConnectionsPerRoute,
+            @Value("${http-client.connect-timeout-ms:2000}") long connectTimeoutMs,
+            @Value("${http-client.read-timeout-ms:5000}") long readTimeoutMs,
+            @Value("${http-client.connection-ttl-ms:300000}") long connectionTtlMs) {
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                .setTimeToLive(TimeValue.ofMilliseconds(connectionTtlMs))
+                // Re-check connections that sat idle, the server may have closed them
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build();
+
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(connectionConfig)
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public MeterBinder httpConnectionPoolMetrics(PoolingHttpClientConnectionManager httpConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(httpConnectionManager, "cart-service");
     }
-}
 
+    @Bean
+    public RestTemplate restTemplate(
+            PoolingHttpClientConnectionManager httpConnectionManager,
+            ObservationRegistry observationRegistry,
+            @Value("${http-client.pool-timeout-ms:1000}") long poolTimeoutMs,
+            @Value("${http-client.read-timeout-ms:5000}") long readTimeoutMs,
+            @Value("${http-client.idle-eviction-ms:30000}") long idleEvictionMs) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                // Fail fast when the pool is exhausted instead of queueing behind a slow Cart Service
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolTimeoutMs))
+                .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                .build();
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(httpConnectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleEvictionMs))
+                .build();
+
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+        restTemplate.setObservationRegistry(observationRegistry);
+        return restTemplate;
+    }
+}
@@ -1,27 +1,45 @@
 package com.example.order_service.controller;
 
+import com.example.order_service.dto.BatchUpdateOrderStatusRequest;
 import com.example.order_service.dto.CreateOrderRequest;
+import com.example.order_service.dto.OrderPageResponse;
 import com.example.order_service.dto.OrderResponse;
 import com.example.order_service.dto.UpdateOrderStatusRequest;
+import com.example.order_service.service.ActiveOrderVersionTracker;
+import com.example.order_service.service.IdempotencyService;
 import com.example.order_service.service.OrderService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/orders")
 public class OrderController {
 
     private static final Logger logger = LoggerFactory.getLogger(OrderController.class);
+    private static final String VERSION_HEADER = "X-Orders-Version";
+    private static final String DELTA_HEADER = "X-Orders-Delta";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    // Without ?limit= only the newest orders are listed; older ones need the paginated form
+    private static final int HISTORY_LIST_LIMIT = 100;
+    private static final String IDEMPOTENT_REPLAY_HEADER = "Idempotent-Replayed";
+
     private final OrderService orderService;
+    private final ActiveOrderVersionTracker versionTracker;
+    private final IdempotencyService idempotencyService;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, ActiveOrderVersionTracker versionTracker,
+                           IdempotencyService idempotencyService) {
         this.orderService = orderService;
+        this.versionTracker = versionTracker;
+        this.idempotencyService = idempotencyService;
     }
 
     @PostMapping
@@ -29,6 +47,7 @@ public class OrderController {
             @RequestHeader("X-User-Id") Long userId,
             @RequestHeader("X-Table-Id") Long tableId,
             @RequestHeader("Authorization") String authorization,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @RequestBody(required = false) CreateOrderRequest request) {
         logger.info("POST /api/orders - Creating order for userId: {}, tableId: {}", userId, tableId);
 
@@ -39,8 +58,19 @@ public class OrderController {
 
         request.setUserId(userId);
         request.setTableId(tableId);
-        OrderResponse response = orderService.createOrder(request, authorization);
-        return new ResponseEntity<>(response, HttpStatus.CREATED);
+
+        if (idempotencyKey == null) {
+            OrderResponse response = orderService.createOrder(request, authorization);
+            return new ResponseEntity<>(response, HttpStatus.CREATED);
+        }
+
+        // Retries with the same key get the original order back instead of a duplicate
+        CreateOrderRequest orderRequest = request;
+        IdempotencyService.Result result = idempotencyService.execute(userId, idempotencyKey,
+                record -> orderService.createOrder(orderRequest, authorization, record));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAY_HEADER, String.valueOf(result.replayed()))
+                .body(result.order());
     }
 
     @GetMapping("/{orderId}")
@@ -50,25 +80,92 @@ public class OrderController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Newest orders for a table (at most HISTORY_LIST_LIMIT); X-Next-Cursor is set when older orders exist
+     */
     @GetMapping("/table")
     public ResponseEntity<List<OrderResponse>> getOrdersByTable(@RequestHeader("X-Table-Id") Long tableId) {
         logger.info("GET /api/orders/table - Fetching orders by table: {}", tableId);
-        List<OrderResponse> responses = orderService.getOrdersByTable(tableId);
-        return ResponseEntity.ok(responses);
+        OrderPageResponse page = orderService.getOrdersByTablePage(tableId, null, HISTORY_LIST_LIMIT);
+        return historyList(page);
     }
 
+    /**
+     * Newest orders for a user (at most HISTORY_LIST_LIMIT); X-Next-Cursor is set when older orders exist
+     */
     @GetMapping("/user")
     public ResponseEntity<List<OrderResponse>> getOrdersByUser(@RequestHeader("X-User-Id") Long userId) {
         logger.info("GET /api/orders/user - Fetching orders by user: {}", userId);
-        List<OrderResponse> responses = orderService.getOrdersByUser(userId);
-        return ResponseEntity.ok(responses);
+        OrderPageResponse page = orderService.getOrdersByUserPage(userId, null, HISTORY_LIST_LIMIT);
+        return historyList(page);
+    }
+
+    /**
+     * Paginated order history for a table, newest first (keyset pagination on createdAt, id)
+     */
+    @GetMapping(value = "/table", params = "limit")
+    public ResponseEntity<OrderPageResponse> getOrdersByTablePage(
+            @RequestHeader("X-Table-Id") Long tableId,
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor) {
+        logger.info("GET /api/orders/table - Fetching order page by table: {}, limit: {}", tableId, limit);
+        OrderPageResponse response = orderService.getOrdersByTablePage(tableId, cursor, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Paginated order history for a user, newest first (keyset pagination on createdAt, id)
+     */
+    @GetMapping(value = "/user", params = "limit")
+    public ResponseEntity<OrderPageResponse> getOrdersByUserPage(
+            @RequestHeader("X-User-Id") Long userId,
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor) {
+        logger.info("GET /api/orders/user - Fetching order page by user: {}, limit: {}", userId, limit);
+        OrderPageResponse response = orderService.getOrdersByUserPage(userId, cursor, limit);
+        return ResponseEntity.ok(response);
     }
 
+    /**
+     * Active orders, versioned for pollers.
+     * Returns 304 from memory, without a database query, when If-None-Match is current.
+     * With sinceVersion, only orders changed since that version are returned (X-Orders-Delta: true),
+     * including orders that have left the active set; if the version is too old, the full list is sent.
+     */
     @GetMapping("/active")
-    public ResponseEntity<List<OrderResponse>> getActiveOrders() {
-        logger.info("GET /api/orders/active - Fetching active orders");
-        List<OrderResponse> responses = orderService.getActiveOrders();
-        return ResponseEntity.ok(responses);
+    public ResponseEntity<List<OrderResponse>> getActiveOrders(
+            @RequestParam(required = false) Long sinceVersion,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Read the version before the data so the ETag never claims more than the body contains
+        String etag = versionTracker.currentETag();
+        long version = versionTracker.currentVersion();
+
+        if (ifNoneMatch != null && ifNoneMatch.contains(etag)) {
+            logger.debug("GET /api/orders/active - Not modified (ETag: {})", etag);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .header(VERSION_HEADER, String.valueOf(version))
+                    .build();
+        }
+
+        Optional<List<Long>> changedOrderIds = sinceVersion != null
+                ? versionTracker.changedSince(sinceVersion, version)
+                : Optional.empty();
+
+        List<OrderResponse> responses;
+        if (changedOrderIds.isPresent()) {
+            logger.info("GET /api/orders/active - Fetching orders changed since version {}", sinceVersion);
+            responses = orderService.getOrdersByIds(changedOrderIds.get());
+        } else {
+            logger.info("GET /api/orders/active - Fetching active orders");
+            responses = orderService.getActiveOrders();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .header(VERSION_HEADER, String.valueOf(version))
+                .header(DELTA_HEADER, String.valueOf(changedOrderIds.isPresent()))
+                .body(responses);
     }
 
     @PatchMapping("/{orderId}/status")
@@ -79,5 +176,21 @@ public class OrderController {
         OrderResponse response = orderService.updateOrderStatus(orderId, request.getStatus());
         return ResponseEntity.ok(response);
     }
-}
 
+    @PostMapping("/batch-status")
+    public ResponseEntity<List<OrderResponse>> updateOrderStatuses(
+            @Valid @RequestBody BatchUpdateOrderStatusRequest request) {
+        logger.info("POST /api/orders/batch-status - Updating {} orders to: {}",
+                request.getOrderIds().size(), request.getStatus());
+        List<OrderResponse> responses = orderService.updateOrderStatuses(request.getOrderIds(), request.getStatus());
+        return ResponseEntity.ok(responses);
+    }
+
+    private ResponseEntity<List<OrderResponse>> historyList(OrderPageResponse page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.isHasMore()) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getOrders());
+    }
+}
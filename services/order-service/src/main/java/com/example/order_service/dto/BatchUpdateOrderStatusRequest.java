@@ -0,0 +1,28 @@
+package com.example.order_service.dto;
+
+import com.example.order_service.entity.Order;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Moves several orders to the same status at once (e.g. the kitchen bumping a batch of tickets).
+ * All orders are updated in one transaction; if any transition is invalid, none are applied.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchUpdateOrderStatusRequest {
+
+    @NotEmpty(message = "At least one order id is required")
+    @Size(max = 100, message = "At most 100 orders can be updated at once")
+    private List<@NotNull(message = "Order id must not be null") Long> orderIds;
+
+    @NotNull(message = "Status is required")
+    private Order.OrderStatus status;
+}
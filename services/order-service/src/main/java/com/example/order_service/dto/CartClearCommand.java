@@ -0,0 +1,21 @@
+package com.example.order_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outbox payload for removing the ordered items from a user's cart after their order was placed.
+ * Carries no user credentials; the relay calls Cart Service with its own (see CartServiceClient).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartClearCommand {
+    private Long userId;
+    private Long tableId;
+    // Menu item ids of the order; anything added to the cart afterwards is left alone
+    private List<Long> itemIds;
+}
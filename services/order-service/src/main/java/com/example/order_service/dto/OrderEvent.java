@@ -0,0 +1,44 @@
+package com.example.order_service.dto;
+
+import com.example.order_service.entity.Order;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Order change event published to Kafka after an order is created or its status changes.
+ * Carries the full order so consumers (KDS) can update their board without calling back.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderEvent {
+
+    private EventType eventType;
+    private Long orderId;
+    private Long tableId;
+    private Long userId;
+    private Order.OrderStatus previousStatus;
+    private Order.OrderStatus status;
+    private OrderResponse order;
+    private LocalDateTime occurredAt;
+    // orders.change_version of this change, set right before commit (see ActiveOrderVersionTracker)
+    private Long changeVersion;
+
+    public static OrderEvent created(OrderResponse order) {
+        return new OrderEvent(EventType.ORDER_CREATED, order.getId(), order.getTableId(), order.getUserId(),
+                null, order.getStatus(), order, LocalDateTime.now(), null);
+    }
+
+    public static OrderEvent statusChanged(OrderResponse order, Order.OrderStatus previousStatus) {
+        return new OrderEvent(EventType.ORDER_STATUS_CHANGED, order.getId(), order.getTableId(), order.getUserId(),
+                previousStatus, order.getStatus(), order, LocalDateTime.now(), null);
+    }
+
+    public enum EventType {
+        ORDER_CREATED,
+        ORDER_STATUS_CHANGED
+    }
+}
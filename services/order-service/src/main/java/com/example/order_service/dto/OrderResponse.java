@@ -1,5 +1,6 @@
 package com.example.order_service.dto;
 
+import com.example.order_service.entity.ArchivedOrder;
 import com.example.order_service.entity.Order;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -21,6 +22,9 @@ public class OrderResponse {
     private Order.OrderStatus status;
     private BigDecimal totalAmount;
     private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    // Incremented on every change; consumers use it to tell which of two copies of an order is newer
+    private Long version;
     private List<OrderItemResponse> items;
 
     public static OrderResponse fromEntity(Order order) {
@@ -31,12 +35,34 @@ public class OrderResponse {
         response.setStatus(order.getStatus());
         response.setTotalAmount(order.getTotalAmount());
         response.setCreatedAt(order.getCreatedAt());
+        response.setUpdatedAt(order.getUpdatedAt());
+        response.setVersion(order.getVersion());
         response.setItems(order.getItems().stream()
                 .map(OrderItemResponse::fromEntity)
                 .collect(Collectors.toList()));
         return response;
     }
 
+    public static OrderResponse fromArchived(ArchivedOrder order) {
+        OrderResponse response = new OrderResponse();
+        response.setId(order.getId());
+        response.setTableId(order.getTableId());
+        response.setUserId(order.getUserId());
+        response.setStatus(order.getStatus());
+        response.setTotalAmount(order.getTotalAmount());
+        response.setCreatedAt(order.getCreatedAt());
+        response.setUpdatedAt(order.getUpdatedAt());
+        response.setItems(order.getItems().stream()
+                .map(item -> new OrderItemResponse(
+                        item.getId(),
+                        item.getItemId(),
+                        item.getItemName(),
+                        item.getQuantity(),
+                        item.getUnitPrice()))
+                .collect(Collectors.toList()));
+        return response;
+    }
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -39,7 +41,22 @@ public class Order {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Optimistic lock; status-only changes bump it directly in OrderRepository.compareAndSetStatus
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    // Time of the last change for delta polling, written only by ActiveOrderVersionTracker
+    @Column(name = "change_version", insertable = false, updatable = false)
+    private Long changeVersion;
+
+    // Batch-initialize item collections for queries that don't fetch-join them
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     private List<OrderItem> items = new ArrayList<>();
 
     public void addItem(OrderItem item) {
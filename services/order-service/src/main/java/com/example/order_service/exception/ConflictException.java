@@ -0,0 +1,7 @@
+package com.example.order_service.exception;
+
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
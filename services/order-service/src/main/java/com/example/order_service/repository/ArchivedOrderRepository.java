@@ -0,0 +1,66 @@
+package com.example.order_service.repository;
+
+import com.example.order_service.entity.ArchivedOrder;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+
+    @Query("SELECT o FROM ArchivedOrder o LEFT JOIN FETCH o.items WHERE o.id = :id")
+    ArchivedOrder findByIdWithItems(@Param("id") Long id);
+
+    // Keyset pagination, mirroring OrderRepository so pages can be merged with the hot table
+
+    @Query("SELECT o FROM ArchivedOrder o WHERE o.tableId = :tableId ORDER BY o.createdAt DESC, o.id DESC")
+    List<ArchivedOrder> findByTableIdFirstPage(@Param("tableId") Long tableId, Limit limit);
+
+    @Query("SELECT o FROM ArchivedOrder o WHERE o.tableId = :tableId " +
+            "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<ArchivedOrder> findByTableIdBefore(@Param("tableId") Long tableId, @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") Long id, Limit limit);
+
+    @Query("SELECT o FROM ArchivedOrder o WHERE o.userId = :userId ORDER BY o.createdAt DESC, o.id DESC")
+    List<ArchivedOrder> findByUserIdFirstPage(@Param("userId") Long userId, Limit limit);
+
+    @Query("SELECT o FROM ArchivedOrder o WHERE o.userId = :userId " +
+            "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<ArchivedOrder> findByUserIdBefore(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id, Limit limit);
+
+    // Archiving: move a batch of served orders from the hot tables in one transaction
+
+    @Query(value = "SELECT id FROM orders WHERE status = 'SERVED' AND updated_at < :cutoff " +
+            "ORDER BY id LIMIT :batchSize FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockServedOrderIdsBefore(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+
+    @Modifying
+    @Query(value = "INSERT INTO orders_archive (id, table_id, user_id, status, total_amount, created_at, updated_at, archived_at) " +
+            "SELECT id, table_id, user_id, status, total_amount, created_at, updated_at, :archivedAt " +
+            "FROM orders WHERE id IN (:ids)", nativeQuery = true)
+    int copyOrdersToArchive(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Modifying
+    @Query(value = "INSERT INTO order_items_archive (id, order_id, item_id, item_name, quantity, unit_price) " +
+            "SELECT id, order_id, item_id, item_name, quantity, unit_price " +
+            "FROM order_items WHERE order_id IN (:ids)", nativeQuery = true)
+    int copyOrderItemsToArchive(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM order_items WHERE order_id IN (:ids)", nativeQuery = true)
+    int deleteHotOrderItems(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM orders WHERE id IN (:ids)", nativeQuery = true)
+    int deleteHotOrders(@Param("ids") Collection<Long> ids);
+}
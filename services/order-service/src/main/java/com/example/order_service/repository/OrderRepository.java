@@ -1,24 +1,80 @@
 package com.example.order_service.repository;
 
 import com.example.order_service.entity.Order;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
-    List<Order> findByTableIdOrderByCreatedAtDesc(Long tableId);
+    // Item-fetching variants: load orders and their items in a single query instead of one per order
 
-    List<Order> findByUserIdOrderByCreatedAtDesc(Long userId);
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items " +
+            "WHERE o.status IN ('CREATED', 'CONFIRMED', 'PREPARING') ORDER BY o.createdAt ASC")
+    List<Order> findActiveOrdersWithItems();
 
-    @Query("SELECT o FROM Order o WHERE o.status IN ('CREATED', 'CONFIRMED', 'PREPARING') ORDER BY o.createdAt ASC")
-    List<Order> findActiveOrders();
+    // Keyset (seek) pagination over history, newest first; backed by the (table_id|user_id, created_at, id) indexes
+
+    @Query("SELECT o FROM Order o WHERE o.tableId = :tableId ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findByTableIdFirstPage(@Param("tableId") Long tableId, Limit limit);
+
+    @Query("SELECT o FROM Order o WHERE o.tableId = :tableId " +
+            "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findByTableIdBefore(@Param("tableId") Long tableId, @Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") Long id, Limit limit);
+
+    @Query("SELECT o FROM Order o WHERE o.userId = :userId ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findByUserIdFirstPage(@Param("userId") Long userId, Limit limit);
+
+    @Query("SELECT o FROM Order o WHERE o.userId = :userId " +
+            "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findByUserIdBefore(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                   @Param("id") Long id, Limit limit);
+
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items WHERE o.id IN :ids ORDER BY o.createdAt ASC")
+    List<Order> findAllByIdWithItems(@Param("ids") Collection<Long> ids);
 
     @Query("SELECT o FROM Order o LEFT JOIN FETCH o.items WHERE o.id = :id")
     Order findByIdWithItems(@Param("id") Long id);
-}
 
+    @Query("SELECT o.status FROM Order o WHERE o.id = :id")
+    Optional<Order.OrderStatus> findStatusById(@Param("id") Long id);
+
+    // Compare-and-set: only changes the order if it still has the status the caller validated against
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :newStatus, o.version = o.version + 1, o.updatedAt = :updatedAt " +
+            "WHERE o.id = :id AND o.status = :expectedStatus")
+    int compareAndSetStatus(@Param("id") Long id, @Param("expectedStatus") Order.OrderStatus expectedStatus,
+                            @Param("newStatus") Order.OrderStatus newStatus, @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE orders SET change_version = :changeVersion WHERE id = :id", nativeQuery = true)
+    int setChangeVersion(@Param("id") Long id, @Param("changeVersion") long changeVersion);
+
+    @Query("SELECT o.id FROM Order o WHERE o.changeVersion > :sinceVersion")
+    List<Long> findIdsChangedSince(@Param("sinceVersion") long sinceVersion);
+
+    // Changes to any active order, or an order leaving the active set, change the count or the sum
+    @Query("SELECT COUNT(o) AS activeCount, SUM(o.changeVersion) AS changeVersionSum, MAX(o.changeVersion) AS latestChangeVersion " +
+            "FROM Order o WHERE o.status IN ('CREATED', 'CONFIRMED', 'PREPARING')")
+    ActiveOrderStamps findActiveOrderStamps();
+
+    interface ActiveOrderStamps {
+        long getActiveCount();
+
+        Long getChangeVersionSum();
+
+        Long getLatestChangeVersion();
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.order_service.service;
+
+import com.example.order_service.dto.OrderEvent;
+import com.example.order_service.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of the active-order set, kept in memory so unchanged polls are answered without MySQL.
+ *
+ * Right before an order create or status change commits, the current time is stamped on the
+ * order (orders.change_version) and on its OrderEvent. After commit the event moves this
+ * replica's version; changes committed on other replicas arrive through the order-events topic
+ * (see OrderEventVersionListener). No shared row is locked, so writers never queue on each other.
+ * Order events are sent after commit without a delivery guarantee, and may be disabled, so every
+ * order-events.version-refresh-ms the active orders' change_version stamps are also read from the
+ * table: a change whose event never arrived moves the version within that interval instead of never.
+ *
+ * Two values are handed out:
+ * - the ETag, built from a per-replica counter bumped on every change this replica learns about.
+ *   An ETag from another replica (or before a restart) never matches and gets a full response.
+ * - the version (X-Orders-Version), the highest change_version seen, which is comparable across
+ *   replicas. Stamps are taken before commit and on different clocks, so a change can commit with
+ *   a stamp below a version already handed out; deltas therefore look back deltaLookbackMs before
+ *   sinceVersion and may repeat a few orders.
+ */
+@Component
+public class ActiveOrderVersionTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActiveOrderVersionTracker.class);
+
+    private final OrderRepository orderRepository;
+    private final long deltaLookbackMs;
+    private final long maxDeltaAgeMs;
+    private final String instanceId = UUID.randomUUID().toString().substring(0, 8);
+
+    private final AtomicLong changeCount = new AtomicLong();
+    // Count and stamp sum of the active orders at the last refreshFromDatabase(); null before the first
+    private volatile String activeOrdersFingerprint;
+    // Every change committed before startup has a lower stamp than the startup time
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    public ActiveOrderVersionTracker(OrderRepository orderRepository,
+                                     @Value("${order-events.delta-lookback-ms:30000}") long deltaLookbackMs,
+                                     @Value("${order-events.max-delta-age-ms:3600000}") long maxDeltaAgeMs) {
+        this.orderRepository = orderRepository;
+        this.deltaLookbackMs = deltaLookbackMs;
+        this.maxDeltaAgeMs = maxDeltaAgeMs;
+    }
+
+    /**
+     * Runs inside the transaction that raised the event, so the stamp commits with the change.
+     * The order row is already locked by that transaction.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void stampChange(OrderEvent event) {
+        long changeVersion = System.currentTimeMillis();
+        orderRepository.setChangeVersion(event.getOrderId(), changeVersion);
+        event.setChangeVersion(changeVersion);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderEvent(OrderEvent event) {
+        recordChange(event.getChangeVersion());
+    }
+
+    /**
+     * Record a committed change, made on this or another replica
+     */
+    public void recordChange(Long changeVersion) {
+        if (changeVersion != null) {
+            version.accumulateAndGet(changeVersion, Math::max);
+        }
+        changeCount.incrementAndGet();
+    }
+
+    /**
+     * Catches changes whose order event was lost, delayed or never sent: any change to the active
+     * orders since the last refresh changes their count or the sum of their stamps, whatever clock
+     * stamped it. Changes this replica already knew about move the ETag once more, which costs
+     * pollers one extra full response per interval while orders are changing.
+     */
+    @Scheduled(initialDelayString = "${order-events.version-refresh-ms:5000}",
+            fixedDelayString = "${order-events.version-refresh-ms:5000}")
+    public void refreshFromDatabase() {
+        OrderRepository.ActiveOrderStamps stamps = orderRepository.findActiveOrderStamps();
+        String fingerprint = stamps.getActiveCount() + ":" + stamps.getChangeVersionSum();
+        String previous = activeOrdersFingerprint;
+        activeOrdersFingerprint = fingerprint;
+        if (previous != null && !previous.equals(fingerprint)) {
+            logger.debug("Active orders changed in the database (count:sum {} -> {})", previous, fingerprint);
+            recordChange(stamps.getLatestChangeVersion());
+        }
+    }
+
+    public long currentVersion() {
+        return version.get();
+    }
+
+    public String currentETag() {
+        return "\"" + instanceId + "-" + changeCount.get() + "\"";
+    }
+
+    /**
+     * Ids of orders that may have changed after the given version, or empty if that version is
+     * too old or too far ahead to compute a delta and the caller has to send the full active list
+     */
+    @Transactional(readOnly = true)
+    public Optional<List<Long>> changedSince(long sinceVersion, long currentVersion) {
+        if (currentVersion - sinceVersion > maxDeltaAgeMs || sinceVersion - currentVersion > deltaLookbackMs) {
+            return Optional.empty();
+        }
+        return Optional.of(orderRepository.findIdsChangedSince(sinceVersion - deltaLookbackMs));
+    }
+}
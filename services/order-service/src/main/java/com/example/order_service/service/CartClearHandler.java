@@ -0,0 +1,36 @@
+package com.example.order_service.service;
+
+import com.example.order_service.client.CartServiceClient;
+import com.example.order_service.dto.CartClearCommand;
+import com.example.order_service.entity.OutboxMessage;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Removes the ordered items from the user's cart in Cart Service once their order has been committed
+ */
+@Component
+public class CartClearHandler implements OutboxMessageHandler {
+
+    private final CartServiceClient cartServiceClient;
+    private final JsonMapper jsonMapper;
+
+    public CartClearHandler(CartServiceClient cartServiceClient, JsonMapper jsonMapper) {
+        this.cartServiceClient = cartServiceClient;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    public OutboxMessage.MessageType messageType() {
+        return OutboxMessage.MessageType.CART_CLEAR;
+    }
+
+    @Override
+    public void handle(OutboxMessage message) {
+        CartClearCommand command = jsonMapper.readValue(message.getPayload(), CartClearCommand.class);
+        if (command.getItemIds() == null || command.getItemIds().isEmpty()) {
+            return;
+        }
+        cartServiceClient.removeOrderedItems(command.getUserId(), command.getTableId(), command.getItemIds());
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.order_service.service;
+
+import com.example.order_service.dto.OrderResponse;
+import com.example.order_service.entity.IdempotencyRecord;
+import com.example.order_service.exception.BadRequestException;
+import com.example.order_service.exception.ConflictException;
+import com.example.order_service.repository.IdempotencyRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Makes POST /api/orders safe to retry with an Idempotency-Key header.
+ *
+ * - A replay of a completed key returns the original order without re-running the pipeline.
+ * - Concurrent duplicates on this instance wait for the first execution and share its result.
+ * - Concurrent duplicates across replicas block on the unique key in order_idempotency_keys;
+ *   the loser's transaction rolls back and it returns the winner's order.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final OrderService orderService;
+    private final long ttlHours;
+    private final long waitTimeoutMs;
+
+    private final Map<String, CompletableFuture<OrderResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(
+            IdempotencyRecordRepository idempotencyRecordRepository,
+            OrderService orderService,
+            @Value("${order-idempotency.ttl-hours:24}") long ttlHours,
+            @Value("${order-idempotency.wait-timeout-ms:30000}") long waitTimeoutMs) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.orderService = orderService;
+        this.ttlHours = ttlHours;
+        this.waitTimeoutMs = waitTimeoutMs;
+    }
+
+    /**
+     * Run createOrder at most once per (userId, idempotencyKey) within the TTL.
+     * createOrder must save the given record (with the new order id) in the order's transaction.
+     */
+    public Result execute(Long userId, String idempotencyKey, Function<IdempotencyRecord, OrderResponse> createOrder) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must be 1-" + MAX_KEY_LENGTH + " characters.");
+        }
+
+        String localKey = userId + ":" + idempotencyKey;
+        CompletableFuture<OrderResponse> execution = new CompletableFuture<>();
+        CompletableFuture<OrderResponse> existing = inFlight.putIfAbsent(localKey, execution);
+        if (existing != null) {
+            logger.info("Waiting for in-flight order creation with the same Idempotency-Key - userId: {}", userId);
+            return new Result(await(existing), true);
+        }
+
+        try {
+            Optional<OrderResponse> replay = findReplay(userId, idempotencyKey);
+            if (replay.isPresent()) {
+                logger.info("Replaying order {} for Idempotency-Key - userId: {}", replay.get().getId(), userId);
+                execution.complete(replay.get());
+                return new Result(replay.get(), true);
+            }
+
+            idempotencyRecordRepository.deleteExpired(userId, idempotencyKey, LocalDateTime.now());
+
+            OrderResponse response;
+            boolean replayed = false;
+            try {
+                IdempotencyRecord record = new IdempotencyRecord();
+                record.setUserId(userId);
+                record.setIdempotencyKey(idempotencyKey);
+                record.setExpiresAt(LocalDateTime.now().plusHours(ttlHours));
+                response = createOrder.apply(record);
+            } catch (DataIntegrityViolationException e) {
+                // Another replica committed the same key first; our order was rolled back
+                response = findReplay(userId, idempotencyKey).orElseThrow(() -> e);
+                replayed = true;
+                logger.info("Concurrent duplicate resolved to order {} - userId: {}", response.getId(), userId);
+            }
+
+            execution.complete(response);
+            return new Result(response, replayed);
+        } catch (RuntimeException e) {
+            execution.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(localKey, execution);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${order-idempotency.cleanup-interval-ms:3600000}")
+    public void deleteExpiredKeys() {
+        try {
+            int deleted = idempotencyRecordRepository.deleteAllExpired(LocalDateTime.now());
+            if (deleted > 0) {
+                logger.info("Deleted {} expired idempotency keys", deleted);
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to delete expired idempotency keys: {}", e.getMessage());
+        }
+    }
+
+    private Optional<OrderResponse> findReplay(Long userId, String idempotencyKey) {
+        return idempotencyRecordRepository.findByUserIdAndIdempotencyKey(userId, idempotencyKey)
+                .filter(record -> record.getExpiresAt().isAfter(LocalDateTime.now()))
+                .map(IdempotencyRecord::getOrderId)
+                .map(orderService::getOrderById);
+    }
+
+    private OrderResponse await(CompletableFuture<OrderResponse> execution) {
+        try {
+            return execution.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ConflictException("A request with this Idempotency-Key is still being processed.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Interrupted while waiting for a request with the same Idempotency-Key.");
+        }
+    }
+
+    public record Result(OrderResponse order, boolean replayed) {
+    }
+}
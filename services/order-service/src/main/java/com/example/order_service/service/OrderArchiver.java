@@ -0,0 +1,85 @@
+package com.example.order_service.service;
+
+import com.example.order_service.repository.ArchivedOrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves orders that have been SERVED for longer than the retention window from the hot
+ * orders/order_items tables into orders_archive/order_items_archive.
+ * Keeps the hot tables small (only live and recently served orders) so the active-order
+ * queries stay cache-resident. History reads union both sides, see OrderService.
+ */
+@Service
+public class OrderArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderArchiver.class);
+
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long servedRetentionHours;
+    private final int batchSize;
+
+    public OrderArchiver(
+            ArchivedOrderRepository archivedOrderRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${order-archive.enabled:true}") boolean enabled,
+            @Value("${order-archive.served-retention-hours:24}") long servedRetentionHours,
+            @Value("${order-archive.batch-size:500}") int batchSize) {
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.servedRetentionHours = servedRetentionHours;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${order-archive.interval-ms:300000}",
+            initialDelayString = "${order-archive.initial-delay-ms:60000}")
+    public void archiveServedOrders() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(servedRetentionHours);
+        int total = 0;
+        int moved;
+        try {
+            // One transaction per batch keeps lock time and undo log small
+            do {
+                Integer result = transactionTemplate.execute(status -> archiveBatch(cutoff));
+                moved = result != null ? result : 0;
+                total += moved;
+            } while (moved == batchSize);
+
+            if (total > 0) {
+                logger.info("Archived {} orders served before {}", total, cutoff);
+            }
+        } catch (Exception e) {
+            logger.error("Order archiving failed after {} orders: {}", total, e.getMessage());
+        }
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        // SKIP LOCKED lets several order-service replicas archive concurrently without overlap
+        List<Long> orderIds = archivedOrderRepository.lockServedOrderIdsBefore(cutoff, batchSize);
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+
+        archivedOrderRepository.copyOrdersToArchive(orderIds, LocalDateTime.now());
+        archivedOrderRepository.copyOrderItemsToArchive(orderIds);
+        archivedOrderRepository.deleteHotOrderItems(orderIds);
+        archivedOrderRepository.deleteHotOrders(orderIds);
+
+        logger.debug("Archived batch of {} orders", orderIds.size());
+        return orderIds.size();
+    }
+}
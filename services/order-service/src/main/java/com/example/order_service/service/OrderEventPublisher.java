@@ -0,0 +1,59 @@
+package com.example.order_service.service;
+
+import com.example.order_service.dto.OrderEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Publishes order change events to Kafka.
+ * OrderService raises OrderEvents as application events; they are only sent once the
+ * surrounding transaction has committed, so consumers never see an order that was rolled back.
+ */
+@Service
+public class OrderEventPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderEventPublisher.class);
+
+    private final KafkaTemplate<String, OrderEvent> kafkaTemplate;
+    private final String orderEventsTopic;
+    private final boolean enabled;
+
+    public OrderEventPublisher(
+            KafkaTemplate<String, OrderEvent> kafkaTemplate,
+            @Value("${kafka.topic.order-events}") String orderEventsTopic,
+            @Value("${order-events.enabled:true}") boolean enabled) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.orderEventsTopic = orderEventsTopic;
+        this.enabled = enabled;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderEvent(OrderEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            // Keyed by orderId so all events of one order stay on one partition, in order
+            kafkaTemplate.send(orderEventsTopic, event.getOrderId().toString(), event)
+                    .whenComplete((result, ex) -> {
+                        if (ex == null) {
+                            logger.debug("Order event published - orderId: {}, type: {}, offset: {}",
+                                    event.getOrderId(), event.getEventType(), result.getRecordMetadata().offset());
+                        } else {
+                            logger.error("Failed to publish order event - orderId: {}, type: {}: {}",
+                                    event.getOrderId(), event.getEventType(), ex.getMessage());
+                        }
+                    });
+        } catch (Exception e) {
+            // The order is already committed; KDS reconciliation polling will pick it up
+            logger.error("Exception while publishing order event - orderId: {}: {}",
+                    event.getOrderId(), e.getMessage());
+        }
+    }
+}
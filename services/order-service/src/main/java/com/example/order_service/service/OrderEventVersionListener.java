@@ -0,0 +1,39 @@
+package com.example.order_service.service;
+
+import com.example.order_service.dto.OrderEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Feeds order changes committed on any replica into this replica's ActiveOrderVersionTracker.
+ * Changes committed here arrive twice (after commit and from the topic); the extra ETag bump
+ * only costs pollers one more response.
+ */
+@Service
+@ConditionalOnProperty(name = "order-events.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderEventVersionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderEventVersionListener.class);
+
+    private final ActiveOrderVersionTracker versionTracker;
+
+    public OrderEventVersionListener(ActiveOrderVersionTracker versionTracker) {
+        this.versionTracker = versionTracker;
+    }
+
+    @KafkaListener(
+            topics = "${kafka.topic.order-events}",
+            groupId = "${order-events.version-group-id}",
+            containerFactory = "orderEventListenerContainerFactory")
+    public void onOrderEvent(OrderEvent event) {
+        if (event == null || event.getOrderId() == null) {
+            logger.warn("Ignoring malformed order event: {}", event);
+            return;
+        }
+        logger.debug("Order change seen - orderId: {}, changeVersion: {}", event.getOrderId(), event.getChangeVersion());
+        versionTracker.recordChange(event.getChangeVersion());
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.order_service.service;
+
+import com.example.order_service.entity.OutboxMessage;
+import com.example.order_service.repository.OutboxMessageRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records side effects of an order transaction in order_outbox.
+ * Must be called inside that transaction, so the message commits or rolls back with the order;
+ * OutboxRelay delivers it afterwards without holding the request's DB connection.
+ */
+@Service
+public class OrderOutbox {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderOutbox.class);
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final JsonMapper jsonMapper;
+
+    public OrderOutbox(OutboxMessageRepository outboxMessageRepository, JsonMapper jsonMapper) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(OutboxMessage.MessageType messageType, Long orderId, Object payload) {
+        OutboxMessage message = new OutboxMessage();
+        message.setMessageType(messageType);
+        message.setOrderId(orderId);
+        message.setPayload(jsonMapper.writeValueAsString(payload));
+        message.setStatus(OutboxMessage.Status.PENDING);
+        message.setNextAttemptAt(LocalDateTime.now());
+        outboxMessageRepository.save(message);
+
+        logger.debug("Queued {} for orderId: {}", messageType, orderId);
+    }
+}
@@ -1,39 +1,84 @@
 package com.example.order_service.service;
 
 import com.example.order_service.client.CartServiceClient;
+import com.example.order_service.dto.CartClearCommand;
 import com.example.order_service.dto.CartItemDto;
 import com.example.order_service.dto.CartResponseDto;
 import com.example.order_service.dto.CreateOrderRequest;
+import com.example.order_service.dto.OrderCursor;
+import com.example.order_service.dto.OrderEvent;
 import com.example.order_service.dto.OrderItemRequest;
+import com.example.order_service.dto.OrderPageResponse;
 import com.example.order_service.dto.OrderResponse;
+import com.example.order_service.entity.ArchivedOrder;
+import com.example.order_service.entity.IdempotencyRecord;
 import com.example.order_service.entity.Order;
 import com.example.order_service.entity.OrderItem;
+import com.example.order_service.entity.OutboxMessage;
 import com.example.order_service.exception.BadRequestException;
+import com.example.order_service.exception.ConflictException;
 import com.example.order_service.exception.ResourceNotFoundException;
+import com.example.order_service.repository.ArchivedOrderRepository;
+import com.example.order_service.repository.IdempotencyRecordRepository;
 import com.example.order_service.repository.OrderRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class OrderService {
 
     private static final Logger logger = LoggerFactory.getLogger(OrderService.class);
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final Comparator<OrderResponse> NEWEST_FIRST = Comparator
+            .comparing(OrderResponse::getCreatedAt)
+            .thenComparing(OrderResponse::getId)
+            .reversed();
     private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
     private final CartServiceClient cartServiceClient;
+    private final OrderOutbox orderOutbox;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public OrderService(OrderRepository orderRepository, CartServiceClient cartServiceClient) {
+    public OrderService(OrderRepository orderRepository, ArchivedOrderRepository archivedOrderRepository,
+                        IdempotencyRecordRepository idempotencyRecordRepository,
+                        CartServiceClient cartServiceClient, OrderOutbox orderOutbox,
+                        ApplicationEventPublisher eventPublisher) {
         this.orderRepository = orderRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
         this.cartServiceClient = cartServiceClient;
+        this.orderOutbox = orderOutbox;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
     public OrderResponse createOrder(CreateOrderRequest request, String authorizationHeader) {
+        return createOrder(request, authorizationHeader, null);
+    }
+
+    /**
+     * Create an order; if an idempotency record is given it is stored in the same transaction,
+     * so a duplicate key rolls the whole order back
+     */
+    @Transactional
+    public OrderResponse createOrder(CreateOrderRequest request, String authorizationHeader,
+                                     IdempotencyRecord idempotencyRecord) {
 
         if (request.getUserId() == null) {
             logger.error("User ID is missing in the request");
@@ -129,16 +174,23 @@ public class OrderService {
         logger.info("Order created successfully - orderId: {}, userId: {}, totalAmount: {}",
                 savedOrder.getId(), savedOrder.getUserId(), savedOrder.getTotalAmount());
 
-        // Step 4: Clear cart after successful order creation
-        try {
-            logger.info("Clearing cart for userId: {} after successful order creation", request.getUserId());
-            cartServiceClient.clearCart(authorizationHeader, request.getUserId(), request.getTableId());
-        } catch (Exception e) {
-            logger.warn("Failed to clear cart after order creation (orderId: {}): {}",
-                    savedOrder.getId(), e.getMessage());
+        if (idempotencyRecord != null) {
+            idempotencyRecord.setOrderId(savedOrder.getId());
+            idempotencyRecordRepository.save(idempotencyRecord);
         }
 
-        return OrderResponse.fromEntity(savedOrder);
+        // Step 4: Queue removal of the ordered items from the cart; OutboxRelay calls Cart Service
+        // after commit, with retries
+        List<Long> orderedItemIds = orderItems.stream().map(OrderItem::getItemId).distinct().toList();
+        orderOutbox.enqueue(OutboxMessage.MessageType.CART_CLEAR, savedOrder.getId(),
+                new CartClearCommand(request.getUserId(), request.getTableId(), orderedItemIds));
+
+        OrderResponse response = OrderResponse.fromEntity(savedOrder);
+
+        // Step 5: Notify subscribers (KDS) once the transaction commits
+        eventPublisher.publishEvent(OrderEvent.created(response));
+
+        return response;
     }
 
     @Transactional(readOnly = true)
@@ -146,73 +198,205 @@ public class OrderService {
         logger.info("Fetching order by id: {}", orderId);
 
         Order order = orderRepository.findByIdWithItems(orderId);
-        if (order == null) {
+        if (order != null) {
+            logger.debug("Order found - orderId: {}, userId: {}", order.getId(), order.getUserId());
+            return OrderResponse.fromEntity(order);
+        }
+
+        // Served orders older than the retention window live in the archive
+        ArchivedOrder archivedOrder = archivedOrderRepository.findByIdWithItems(orderId);
+        if (archivedOrder == null) {
             logger.error("Order not found with id: {}", orderId);
             throw new ResourceNotFoundException("Order not found with id: " + orderId);
         }
 
-        logger.debug("Order found - orderId: {}, userId: {}", order.getId(), order.getUserId());
-        return OrderResponse.fromEntity(order);
+        logger.debug("Archived order found - orderId: {}, userId: {}", archivedOrder.getId(), archivedOrder.getUserId());
+        return OrderResponse.fromArchived(archivedOrder);
     }
 
     @Transactional(readOnly = true)
-    public List<OrderResponse> getOrdersByTable(Long tableId) {
-        logger.info("Fetching orders for tableId: {}", tableId);
+    public OrderPageResponse getOrdersByTablePage(Long tableId, String cursor, int limit) {
+        logger.info("Fetching order page for tableId: {}, limit: {}", tableId, limit);
+        validatePageSize(limit);
+
+        // Fetch one extra row from each side to know whether another page exists
+        Limit fetchLimit = Limit.of(limit + 1);
+        List<Order> orders;
+        List<ArchivedOrder> archivedOrders;
+        if (cursor == null || cursor.isBlank()) {
+            orders = orderRepository.findByTableIdFirstPage(tableId, fetchLimit);
+            archivedOrders = archivedOrderRepository.findByTableIdFirstPage(tableId, fetchLimit);
+        } else {
+            OrderCursor position = OrderCursor.decode(cursor);
+            orders = orderRepository.findByTableIdBefore(tableId, position.createdAt(), position.id(), fetchLimit);
+            archivedOrders = archivedOrderRepository.findByTableIdBefore(
+                    tableId, position.createdAt(), position.id(), fetchLimit);
+        }
 
-        List<Order> orders = orderRepository.findByTableIdOrderByCreatedAtDesc(tableId);
-        logger.debug("Found {} orders for tableId: {}", orders.size(), tableId);
+        return toPage(mergeNewestFirst(orders, archivedOrders), limit);
+    }
 
-        return orders.stream()
-                .map(OrderResponse::fromEntity)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public OrderPageResponse getOrdersByUserPage(Long userId, String cursor, int limit) {
+        logger.info("Fetching order page for userId: {}, limit: {}", userId, limit);
+        validatePageSize(limit);
+
+        Limit fetchLimit = Limit.of(limit + 1);
+        List<Order> orders;
+        List<ArchivedOrder> archivedOrders;
+        if (cursor == null || cursor.isBlank()) {
+            orders = orderRepository.findByUserIdFirstPage(userId, fetchLimit);
+            archivedOrders = archivedOrderRepository.findByUserIdFirstPage(userId, fetchLimit);
+        } else {
+            OrderCursor position = OrderCursor.decode(cursor);
+            orders = orderRepository.findByUserIdBefore(userId, position.createdAt(), position.id(), fetchLimit);
+            archivedOrders = archivedOrderRepository.findByUserIdBefore(
+                    userId, position.createdAt(), position.id(), fetchLimit);
+        }
+
+        return toPage(mergeNewestFirst(orders, archivedOrders), limit);
     }
 
     @Transactional(readOnly = true)
-    public List<OrderResponse> getOrdersByUser(Long userId) {
-        logger.info("Fetching orders for userId: {}", userId);
+    public List<OrderResponse> getActiveOrders() {
+        logger.info("Fetching active orders");
 
-        List<Order> orders = orderRepository.findByUserIdOrderByCreatedAtDesc(userId);
-        logger.debug("Found {} orders for userId: {}", orders.size(), userId);
+        List<Order> orders = orderRepository.findActiveOrdersWithItems();
+        logger.debug("Found {} active orders", orders.size());
 
         return orders.stream()
                 .map(OrderResponse::fromEntity)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Orders with the given ids in their current state, including ones that are no longer active,
+     * so delta pollers can drop them from their board
+     */
     @Transactional(readOnly = true)
-    public List<OrderResponse> getActiveOrders() {
-        logger.info("Fetching active orders");
+    public List<OrderResponse> getOrdersByIds(List<Long> orderIds) {
+        logger.info("Fetching {} changed orders", orderIds.size());
 
-        List<Order> orders = orderRepository.findActiveOrders();
-        logger.debug("Found {} active orders", orders.size());
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
 
-        return orders.stream()
+        return orderRepository.findAllByIdWithItems(orderIds).stream()
                 .map(OrderResponse::fromEntity)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Change the status of one order with a compare-and-set UPDATE on (id, status).
+     * Only the status is read to validate the transition; if another request changed the order
+     * in between, nothing is written and the caller gets a 409 instead of overwriting it.
+     */
     @Transactional
     public OrderResponse updateOrderStatus(Long orderId, Order.OrderStatus newStatus) {
         logger.info("Updating order status - orderId: {}, newStatus: {}", orderId, newStatus);
 
-        Order order = orderRepository.findByIdWithItems(orderId);
-        if (order == null) {
+        Order.OrderStatus oldStatus = orderRepository.findStatusById(orderId).orElseThrow(() -> {
             logger.error("Order not found with id: {}", orderId);
-            throw new ResourceNotFoundException("Order not found with id: " + orderId);
-        }
-
-        Order.OrderStatus oldStatus = order.getStatus();
+            return new ResourceNotFoundException("Order not found with id: " + orderId);
+        });
 
         // Validate status transition
         validateStatusTransition(oldStatus, newStatus);
 
-        order.setStatus(newStatus);
-        Order updatedOrder = orderRepository.save(order);
+        int updated = orderRepository.compareAndSetStatus(orderId, oldStatus, newStatus, LocalDateTime.now());
+        if (updated == 0) {
+            String message = String.format("Order %d was changed concurrently (expected status %s); reload and retry",
+                    orderId, oldStatus);
+            logger.warn(message);
+            throw new ConflictException(message);
+        }
+
+        // The response and order event carry the full order, so items are read once after the write
+        Order updatedOrder = orderRepository.findByIdWithItems(orderId);
 
         logger.info("Order status updated successfully - orderId: {}, userId: {}, {} -> {}",
-                orderId, order.getUserId(), oldStatus, newStatus);
+                orderId, updatedOrder.getUserId(), oldStatus, newStatus);
+
+        OrderResponse response = OrderResponse.fromEntity(updatedOrder);
+        eventPublisher.publishEvent(OrderEvent.statusChanged(response, oldStatus));
+
+        return response;
+    }
+
+    /**
+     * Move several orders to the same status in one transaction.
+     * Every transition is validated before anything is written, and each order is then changed with
+     * the same compare-and-set UPDATE as updateOrderStatus; if any order was changed concurrently the
+     * whole batch rolls back with a 409, so the batch is all-or-nothing.
+     * Responses and order events are built from the orders as re-read after the writes, so they carry
+     * the new version and updatedAt; events are published together once the transaction commits.
+     */
+    @Transactional
+    public List<OrderResponse> updateOrderStatuses(Collection<Long> orderIds, Order.OrderStatus newStatus) {
+        Set<Long> ids = new LinkedHashSet<>(orderIds);
+        logger.info("Updating status of {} orders - newStatus: {}", ids.size(), newStatus);
+
+        Map<Long, Order.OrderStatus> oldStatuses = orderRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Order::getId, Order::getStatus));
+        if (oldStatuses.size() != ids.size()) {
+            Set<Long> missing = new LinkedHashSet<>(ids);
+            missing.removeAll(oldStatuses.keySet());
+            logger.error("Orders not found: {}", missing);
+            throw new ResourceNotFoundException("Orders not found with ids: " + missing);
+        }
+
+        oldStatuses.values().forEach(oldStatus -> validateStatusTransition(oldStatus, newStatus));
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Long orderId : ids) {
+            Order.OrderStatus oldStatus = oldStatuses.get(orderId);
+            if (orderRepository.compareAndSetStatus(orderId, oldStatus, newStatus, now) == 0) {
+                String message = String.format("Order %d was changed concurrently (expected status %s); reload and retry",
+                        orderId, oldStatus);
+                logger.warn(message);
+                throw new ConflictException(message);
+            }
+        }
+
+        List<OrderResponse> responses = new ArrayList<>(ids.size());
+        for (Order order : orderRepository.findAllByIdWithItems(ids)) {
+            OrderResponse response = OrderResponse.fromEntity(order);
+            eventPublisher.publishEvent(OrderEvent.statusChanged(response, oldStatuses.get(order.getId())));
+            responses.add(response);
+        }
 
-        return OrderResponse.fromEntity(updatedOrder);
+        logger.info("Order statuses updated successfully - orderIds: {}, newStatus: {}", ids, newStatus);
+        return responses;
+    }
+
+    private void validatePageSize(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    /**
+     * Union of hot and archived orders, newest first (createdAt DESC, id DESC).
+     * Items of both sides are loaded in one batch each (see @BatchSize on the items collections).
+     */
+    private List<OrderResponse> mergeNewestFirst(List<Order> orders, List<ArchivedOrder> archivedOrders) {
+        List<OrderResponse> merged = new ArrayList<>(orders.size() + archivedOrders.size());
+        orders.forEach(order -> merged.add(OrderResponse.fromEntity(order)));
+        archivedOrders.forEach(order -> merged.add(OrderResponse.fromArchived(order)));
+        merged.sort(NEWEST_FIRST);
+        return merged;
+    }
+
+    private OrderPageResponse toPage(List<OrderResponse> orders, int limit) {
+        boolean hasMore = orders.size() > limit;
+        List<OrderResponse> page = hasMore ? new ArrayList<>(orders.subList(0, limit)) : orders;
+
+        String nextCursor = null;
+        if (hasMore) {
+            OrderResponse last = page.get(page.size() - 1);
+            nextCursor = new OrderCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new OrderPageResponse(page, nextCursor, hasMore);
     }
 
     private void validateStatusTransition(Order.OrderStatus currentStatus, Order.OrderStatus newStatus) {
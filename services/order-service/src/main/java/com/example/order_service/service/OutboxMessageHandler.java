@@ -0,0 +1,14 @@
+package com.example.order_service.service;
+
+import com.example.order_service.entity.OutboxMessage;
+
+/**
+ * Delivers one type of outbox message. Implementations throw to have the relay retry;
+ * they must be safe to run more than once for the same message.
+ */
+public interface OutboxMessageHandler {
+
+    OutboxMessage.MessageType messageType();
+
+    void handle(OutboxMessage message);
+}
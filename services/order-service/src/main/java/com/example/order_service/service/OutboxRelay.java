@@ -0,0 +1,178 @@
+package com.example.order_service.service;
+
+import com.example.order_service.entity.OutboxMessage;
+import com.example.order_service.repository.OutboxMessageRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delivers order_outbox messages written by OrderOutbox.
+ *
+ * Messages are claimed in a short transaction (row locks with SKIP LOCKED, then the next attempt
+ * is pushed out by the lease), and delivered outside of any transaction so a slow downstream
+ * service never holds a DB connection. A relay that dies mid-delivery leaves the message PENDING,
+ * and it is picked up again once the lease expires - delivery is at-least-once.
+ */
+@Service
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<OutboxMessage.MessageType, OutboxMessageHandler> handlers =
+            new EnumMap<>(OutboxMessage.MessageType.class);
+    private final boolean enabled;
+    private final int batchSize;
+    private final long leaseMs;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final long deliveredRetentionHours;
+    private final long failedRetentionHours;
+
+    public OutboxRelay(
+            OutboxMessageRepository outboxMessageRepository,
+            TransactionTemplate transactionTemplate,
+            List<OutboxMessageHandler> handlers,
+            @Value("${order-outbox.enabled:true}") boolean enabled,
+            @Value("${order-outbox.batch-size:50}") int batchSize,
+            @Value("${order-outbox.lease-ms:60000}") long leaseMs,
+            @Value("${order-outbox.max-attempts:10}") int maxAttempts,
+            @Value("${order-outbox.initial-backoff-ms:1000}") long initialBackoffMs,
+            @Value("${order-outbox.max-backoff-ms:300000}") long maxBackoffMs,
+            @Value("${order-outbox.delivered-retention-hours:24}") long deliveredRetentionHours,
+            @Value("${order-outbox.failed-retention-hours:168}") long failedRetentionHours) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.transactionTemplate = transactionTemplate;
+        handlers.forEach(handler -> this.handlers.put(handler.messageType(), handler));
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.leaseMs = leaseMs;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.deliveredRetentionHours = deliveredRetentionHours;
+        this.failedRetentionHours = failedRetentionHours;
+    }
+
+    @Scheduled(fixedDelayString = "${order-outbox.interval-ms:1000}")
+    public void relayPendingMessages() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            List<OutboxMessage> batch;
+            do {
+                batch = transactionTemplate.execute(status -> claimBatch());
+                if (batch == null) {
+                    return;
+                }
+                batch.forEach(this::deliver);
+            } while (batch.size() == batchSize);
+        } catch (Exception e) {
+            logger.error("Outbox relay failed: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${order-outbox.cleanup-interval-ms:3600000}")
+    public void deleteFinishedMessages() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int delivered = outboxMessageRepository.deleteDeliveredBefore(now.minusHours(deliveredRetentionHours));
+            // FAILED rows are kept a while for investigation, but never forever
+            int failed = outboxMessageRepository.deleteFailedBefore(now.minusHours(failedRetentionHours));
+            if (delivered + failed > 0) {
+                logger.info("Deleted {} delivered and {} failed outbox messages", delivered, failed);
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to delete finished outbox messages: {}", e.getMessage());
+        }
+    }
+
+    private List<OutboxMessage> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = outboxMessageRepository.lockDueMessageIds(now, batchSize);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        List<OutboxMessage> messages = outboxMessageRepository.findAllById(ids);
+        LocalDateTime leaseUntil = now.plusNanos(leaseMs * 1_000_000);
+        for (OutboxMessage message : messages) {
+            message.setAttempts(message.getAttempts() + 1);
+            message.setNextAttemptAt(leaseUntil);
+        }
+        return messages;
+    }
+
+    private void deliver(OutboxMessage message) {
+        OutboxMessageHandler handler = handlers.get(message.getMessageType());
+        if (handler == null) {
+            logger.error("No handler for outbox message type {} (id: {})", message.getMessageType(), message.getId());
+            outboxMessageRepository.markFailed(message.getId(), "No handler for " + message.getMessageType());
+            return;
+        }
+
+        try {
+            handler.handle(message);
+            outboxMessageRepository.markDelivered(message.getId(), LocalDateTime.now());
+            logger.info("Delivered {} for orderId: {} (attempt {})",
+                    message.getMessageType(), message.getOrderId(), message.getAttempts());
+        } catch (Exception e) {
+            String error = truncate(e.getMessage());
+            if (!isRetryable(e) || message.getAttempts() >= maxAttempts) {
+                logger.error("Giving up on {} for orderId: {} after {} attempts: {}",
+                        message.getMessageType(), message.getOrderId(), message.getAttempts(), error);
+                outboxMessageRepository.markFailed(message.getId(), error);
+                return;
+            }
+
+            long backoffMs = backoffMs(message.getAttempts());
+            logger.warn("Failed to deliver {} for orderId: {} (attempt {}), retrying in {} ms: {}",
+                    message.getMessageType(), message.getOrderId(), message.getAttempts(), backoffMs, error);
+            outboxMessageRepository.scheduleRetry(message.getId(),
+                    LocalDateTime.now().plusNanos(backoffMs * 1_000_000), error);
+        }
+    }
+
+    /**
+     * 4xx responses won't succeed on retry (e.g. a malformed request),
+     * except timeouts and rate limiting
+     */
+    private boolean isRetryable(Exception e) {
+        if (e instanceof HttpClientErrorException clientError) {
+            int status = clientError.getStatusCode().value();
+            return status == 408 || status == 429;
+        }
+        return true;
+    }
+
+    private long backoffMs(int attempts) {
+        long backoff = initialBackoffMs << Math.min(attempts - 1, 20);
+        return Math.min(backoff, maxBackoffMs);
+    }
+
+    private String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,21 @@
+-- Baseline schema for order-service (matches what ddl-auto used to generate).
+-- Existing databases are baselined at this version and skip it.
+
+CREATE TABLE IF NOT EXISTS orders (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    table_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    status ENUM('CREATED', 'CONFIRMED', 'PREPARING', 'READY', 'SERVED') NOT NULL,
+    total_amount DECIMAL(10,2),
+    created_at DATETIME(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS order_items (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    item_id BIGINT NOT NULL,
+    item_name VARCHAR(255) NOT NULL,
+    quantity INT NOT NULL,
+    unit_price DECIMAL(10,2) NOT NULL,
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders(id)
+);
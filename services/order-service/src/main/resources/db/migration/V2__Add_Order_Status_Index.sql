@@ -0,0 +1,4 @@
+-- Active-order lookup: WHERE status IN ('CREATED', 'CONFIRMED', 'PREPARING') ORDER BY created_at.
+-- MySQL has no partial indexes, so index (status, created_at): the IN list becomes three short
+-- range scans over the active statuses instead of a full scan of the order history.
+CREATE INDEX idx_orders_status_created ON orders (status, created_at);
@@ -0,0 +1,28 @@
+-- When an order last changed; for SERVED orders this is when it was served.
+ALTER TABLE orders ADD COLUMN updated_at DATETIME(6) NULL;
+UPDATE orders SET updated_at = created_at WHERE updated_at IS NULL;
+
+-- Cold storage for orders served more than order-archive.served-retention-hours ago.
+-- Ids are kept from the hot tables, so they are not AUTO_INCREMENT here.
+CREATE TABLE IF NOT EXISTS orders_archive (
+    id BIGINT PRIMARY KEY,
+    table_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    status ENUM('CREATED', 'CONFIRMED', 'PREPARING', 'READY', 'SERVED') NOT NULL,
+    total_amount DECIMAL(10,2),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    archived_at DATETIME(6) NOT NULL,
+    INDEX idx_orders_archive_table_created (table_id, created_at, id),
+    INDEX idx_orders_archive_user_created (user_id, created_at, id)
+);
+
+CREATE TABLE IF NOT EXISTS order_items_archive (
+    id BIGINT PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    item_id BIGINT NOT NULL,
+    item_name VARCHAR(255) NOT NULL,
+    quantity INT NOT NULL,
+    unit_price DECIMAL(10,2) NOT NULL,
+    CONSTRAINT fk_order_items_archive_order FOREIGN KEY (order_id) REFERENCES orders_archive(id)
+);
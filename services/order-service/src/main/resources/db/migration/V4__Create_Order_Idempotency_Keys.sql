@@ -0,0 +1,13 @@
+-- Idempotency-Key header of POST /api/orders -> order it created, kept for the replay TTL.
+-- The unique key makes a concurrent duplicate (on any replica) wait for and then fail against
+-- the first insert, so only one order is ever created per key.
+CREATE TABLE IF NOT EXISTS order_idempotency_keys (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    order_id BIGINT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    UNIQUE KEY uk_order_idempotency_user_key (user_id, idempotency_key),
+    INDEX idx_order_idempotency_expires (expires_at)
+);
@@ -0,0 +1,15 @@
+-- Side effects of order transactions (e.g. clearing the cart), written in the same
+-- transaction as the order and delivered afterwards by OutboxRelay with retries.
+CREATE TABLE IF NOT EXISTS order_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    message_type VARCHAR(50) NOT NULL,
+    order_id BIGINT NOT NULL,
+    payload TEXT NOT NULL,
+    status ENUM('PENDING', 'DELIVERED', 'FAILED') NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME(6) NOT NULL,
+    last_error VARCHAR(1000),
+    created_at DATETIME(6) NOT NULL,
+    delivered_at DATETIME(6),
+    INDEX idx_order_outbox_due (status, next_attempt_at)
+);
@@ -0,0 +1,3 @@
+-- Optimistic locking for orders: every status change bumps the version, so a write based on a
+-- stale read (two kitchen screens bumping the same ticket) fails instead of overwriting silently.
+ALTER TABLE orders ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,5 @@
+-- Paged order history: WHERE table_id = ? (or user_id = ?) AND (created_at, id) < (?, ?)
+-- ORDER BY created_at DESC, id DESC. Each seek becomes a short backward range scan.
+-- Kept out of V1 because databases baselined at V1 never run it.
+CREATE INDEX idx_orders_table_created ON orders (table_id, created_at, id);
+CREATE INDEX idx_orders_user_created ON orders (user_id, created_at, id);
@@ -0,0 +1,5 @@
+-- Time of each order's last create or status change, stamped right before commit by
+-- ActiveOrderVersionTracker. Only read by ?sinceVersion= delta polls of /api/orders/active;
+-- the current version itself is kept in memory on each replica.
+ALTER TABLE orders ADD COLUMN change_version BIGINT NOT NULL DEFAULT 0;
+CREATE INDEX idx_orders_change_version ON orders (change_version);
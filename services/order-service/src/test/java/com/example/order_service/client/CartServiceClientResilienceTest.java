@@ -0,0 +1,133 @@
+package com.example.order_service.client;
+
+import com.example.order_service.config.CartServiceResilienceConfig;
+import com.example.order_service.dto.CartResponseDto;
+import com.example.order_service.exception.BadRequestException;
+import com.example.order_service.exception.ServiceUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Once enough Cart Service calls fail the circuit opens and calls fail fast without reaching
+ * Cart Service; 4xx responses do not count as failures. Calls beyond the bulkhead limit are
+ * rejected immediately instead of waiting for a slow Cart Service.
+ * Uses the circuit breaker and bulkhead built by CartServiceResilienceConfig, with a small window.
+ */
+class CartServiceClientResilienceTest {
+
+    private static final int WINDOW = 4;
+    private static final int MAX_CONCURRENT_CALLS = 2;
+
+    private RestTemplate restTemplate;
+    private CircuitBreaker circuitBreaker;
+    private CartServiceClient client;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        CartServiceResilienceConfig config = new CartServiceResilienceConfig();
+        circuitBreaker = config.cartServiceCircuitBreaker(config.circuitBreakerRegistry(50, 2000, WINDOW, WINDOW, 60_000));
+        Bulkhead bulkhead = config.cartServiceBulkhead(config.bulkheadRegistry(MAX_CONCURRENT_CALLS));
+
+        restTemplate = mock(RestTemplate.class);
+        client = new CartServiceClient(restTemplate, "http://cart-service/api/cart", circuitBreaker, bulkhead);
+        callers = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void getCart_CartServiceDown_CircuitOpensAndFailsFast() {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(CartResponseDto.class)))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+
+        for (int i = 0; i < WINDOW; i++) {
+            assertThrows(ServiceUnavailableException.class, () -> client.getCart("Bearer token", 1L, 2L));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        for (int i = 0; i < 10; i++) {
+            assertThrows(ServiceUnavailableException.class, () -> client.getCart("Bearer token", 1L, 2L));
+        }
+        verify(restTemplate, times(WINDOW))
+                .exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(CartResponseDto.class));
+        assertEquals(10, circuitBreaker.getMetrics().getNumberOfNotPermittedCalls());
+    }
+
+    @Test
+    void getCart_CartNotFound_CircuitStaysClosed() {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(CartResponseDto.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", new HttpHeaders(),
+                        new byte[0], StandardCharsets.UTF_8));
+
+        for (int i = 0; i < WINDOW * 2; i++) {
+            assertThrows(BadRequestException.class, () -> client.getCart("Bearer token", 1L, 2L));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        verify(restTemplate, times(WINDOW * 2))
+                .exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(CartResponseDto.class));
+    }
+
+    @Test
+    void getCart_OverBulkheadLimit_RejectedWithoutCallingCartService() throws Exception {
+        CountDownLatch inFlight = new CountDownLatch(MAX_CONCURRENT_CALLS);
+        CountDownLatch release = new CountDownLatch(1);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(CartResponseDto.class)))
+                .thenAnswer(invocation -> {
+                    inFlight.countDown();
+                    release.await();
+                    return ResponseEntity.ok(new CartResponseDto(1L, List.of(), null));
+                });
+
+        List<Future<CartResponseDto>> slowCalls = new ArrayList<>();
+        for (int i = 0; i < MAX_CONCURRENT_CALLS; i++) {
+            slowCalls.add(callers.submit(() -> client.getCart("Bearer token", 1L, 2L)));
+        }
+        assertTrue(inFlight.await(5, TimeUnit.SECONDS), "Calls within the limit should reach Cart Service");
+
+        long startedAt = System.nanoTime();
+        assertThrows(ServiceUnavailableException.class, () -> client.getCart("Bearer token", 1L, 2L));
+        assertTrue(System.nanoTime() - startedAt < TimeUnit.SECONDS.toNanos(1), "Rejection should not wait");
+
+        release.countDown();
+        for (Future<CartResponseDto> call : slowCalls) {
+            assertEquals(1L, call.get(5, TimeUnit.SECONDS).getUserId());
+        }
+        verify(restTemplate, times(MAX_CONCURRENT_CALLS))
+                .exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(CartResponseDto.class));
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState(), "Shed calls are not failures");
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.order_service.dto;
+
+import com.example.order_service.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cursors survive the round trip through the opaque token, down to the nanosecond, and
+ * malformed tokens are rejected as bad requests.
+ */
+class OrderCursorTest {
+
+    @Test
+    void encodeDecode_RoundTrips() {
+        OrderCursor cursor = new OrderCursor(LocalDateTime.of(2026, 2, 15, 10, 30, 0, 123_456_789), 42L);
+
+        String token = cursor.encode();
+
+        assertEquals(cursor, OrderCursor.decode(token));
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), "Token should be URL-safe without padding: " + token);
+    }
+
+    @Test
+    void encodeDecode_WholeMinute_RoundTrips() {
+        // LocalDateTime.toString() drops zero seconds ("2026-02-15T10:30")
+        OrderCursor cursor = new OrderCursor(LocalDateTime.of(2026, 2, 15, 10, 30), 7L);
+
+        assertEquals(cursor, OrderCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void decode_NotBase64_BadRequest() {
+        assertThrows(BadRequestException.class, () -> OrderCursor.decode("not a cursor!"));
+    }
+
+    @Test
+    void decode_MissingId_BadRequest() {
+        String token = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("2026-02-15T10:30:00".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(BadRequestException.class, () -> OrderCursor.decode(token));
+    }
+
+    @Test
+    void decode_BadTimestamp_BadRequest() {
+        String token = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("yesterday|42".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(BadRequestException.class, () -> OrderCursor.decode(token));
+    }
+}
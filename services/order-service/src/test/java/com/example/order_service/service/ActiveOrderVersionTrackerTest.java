@@ -0,0 +1,179 @@
+package com.example.order_service.service;
+
+import com.example.order_service.controller.OrderController;
+import com.example.order_service.dto.OrderResponse;
+import com.example.order_service.entity.Order;
+import com.example.order_service.repository.OrderRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The active-order version is kept in memory: 304s never reach the database, changes committed
+ * on another replica move the version once their order event arrives (or, if it never does, at
+ * the next refresh from the database), and deltas look back far enough to include changes stamped
+ * before the version they are asked for.
+ * A second ActiveOrderVersionTracker on the same database stands in for the other replica.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ActiveOrderVersionTrackerTest {
+
+    private static final long LOOKBACK_MS = 30_000;
+    private static final long MAX_DELTA_AGE_MS = 3_600_000;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderController orderController;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private ActiveOrderVersionTracker otherReplica;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        otherReplica = new ActiveOrderVersionTracker(orderRepository, LOOKBACK_MS, MAX_DELTA_AGE_MS);
+    }
+
+    @Test
+    void getActiveOrders_CurrentETag_NotModifiedWithoutQuery() {
+        seedOrder();
+        ResponseEntity<List<OrderResponse>> current = orderController.getActiveOrders(null, null);
+        String etag = current.getHeaders().getETag();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        ResponseEntity<List<OrderResponse>> response = orderController.getActiveOrders(null, etag);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(0, statistics.getPrepareStatementCount(), "A 304 should not query the database");
+    }
+
+    @Test
+    void statusChange_OtherReplicaMovesWhenEventArrives() {
+        Long orderId = seedOrder();
+        String etagBefore = otherReplica.currentETag();
+        long versionBefore = otherReplica.currentVersion();
+
+        orderService.updateOrderStatus(orderId, Order.OrderStatus.PREPARING);
+        assertEquals(etagBefore, otherReplica.currentETag(), "Other replica only learns of the change from the event");
+
+        Long changeVersion = orderRepository.findById(orderId).orElseThrow().getChangeVersion();
+        otherReplica.recordChange(changeVersion);
+
+        assertNotEquals(etagBefore, otherReplica.currentETag());
+        assertTrue(otherReplica.currentVersion() >= changeVersion);
+        assertEquals(List.of(orderId), otherReplica.changedSince(versionBefore, otherReplica.currentVersion()).orElseThrow());
+    }
+
+    @Test
+    void refreshFromDatabase_OrderEventMissed_OtherReplicaMoves() {
+        Long orderId = seedOrder();
+        otherReplica.refreshFromDatabase();
+        String etagBefore = otherReplica.currentETag();
+        long versionBefore = otherReplica.currentVersion();
+        otherReplica.refreshFromDatabase();
+        assertEquals(etagBefore, otherReplica.currentETag(), "Nothing changed since the last refresh");
+
+        // Committed on this replica; the order event never reaches the other one
+        orderService.updateOrderStatus(orderId, Order.OrderStatus.PREPARING);
+        assertEquals(etagBefore, otherReplica.currentETag());
+
+        otherReplica.refreshFromDatabase();
+
+        assertNotEquals(etagBefore, otherReplica.currentETag(), "A missed change must not keep answering 304");
+        Long changeVersion = orderRepository.findById(orderId).orElseThrow().getChangeVersion();
+        assertTrue(otherReplica.currentVersion() >= changeVersion);
+        assertEquals(List.of(orderId), otherReplica.changedSince(versionBefore, otherReplica.currentVersion()).orElseThrow());
+    }
+
+    @Test
+    void refreshFromDatabase_OrderLeftActiveSetWithoutEvent_OtherReplicaMoves() {
+        Long orderId = seedOrder();
+        orderService.updateOrderStatus(orderId, Order.OrderStatus.PREPARING);
+        otherReplica.refreshFromDatabase();
+        String etagBefore = otherReplica.currentETag();
+
+        orderService.updateOrderStatus(orderId, Order.OrderStatus.READY);
+        otherReplica.refreshFromDatabase();
+
+        assertNotEquals(etagBefore, otherReplica.currentETag());
+    }
+
+    @Test
+    void changedSince_ChangeStampedBeforeVersion_StillReturned() {
+        Long orderId = seedOrder();
+        long version = otherReplica.currentVersion();
+        // Stamped before `version` was handed out, committed after it
+        transactionTemplate.executeWithoutResult(status ->
+                orderRepository.setChangeVersion(orderId, version - LOOKBACK_MS / 2));
+
+        assertEquals(List.of(orderId), otherReplica.changedSince(version, version).orElseThrow());
+    }
+
+    @Test
+    void getActiveOrders_ETagFromOtherReplica_FullResponse() {
+        Long orderId = seedOrder();
+        orderService.updateOrderStatus(orderId, Order.OrderStatus.PREPARING);
+
+        ResponseEntity<List<OrderResponse>> current = orderController.getActiveOrders(null, null);
+        assertEquals(HttpStatus.OK, current.getStatusCode());
+        String ownETag = current.getHeaders().getETag();
+        assertEquals(HttpStatus.NOT_MODIFIED, orderController.getActiveOrders(null, ownETag).getStatusCode());
+
+        String foreignETag = otherReplica.currentETag();
+        assertNotEquals(ownETag, foreignETag);
+
+        ResponseEntity<List<OrderResponse>> response = orderController.getActiveOrders(null, foreignETag);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("false", response.getHeaders().getFirst("X-Orders-Delta"));
+        assertEquals(List.of(orderId), response.getBody().stream().map(OrderResponse::getId).toList());
+    }
+
+    @Test
+    void getActiveOrders_SinceVersionTooOld_FullResponse() {
+        Long orderId = seedOrder();
+        orderService.updateOrderStatus(orderId, Order.OrderStatus.PREPARING);
+        long version = Long.parseLong(orderController.getActiveOrders(null, null)
+                .getHeaders().getFirst("X-Orders-Version"));
+
+        ResponseEntity<List<OrderResponse>> response =
+                orderController.getActiveOrders(version - MAX_DELTA_AGE_MS - 1, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("false", response.getHeaders().getFirst("X-Orders-Delta"));
+        assertEquals(1, response.getBody().size());
+    }
+
+    private Long seedOrder() {
+        Order order = new Order();
+        order.setTableId(3L);
+        order.setUserId(9L);
+        order.setStatus(Order.OrderStatus.CREATED);
+        order.setTotalAmount(new BigDecimal("12.50"));
+        return orderRepository.save(order).getId();
+    }
+}
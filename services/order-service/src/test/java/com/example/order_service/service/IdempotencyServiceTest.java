@@ -0,0 +1,153 @@
+package com.example.order_service.service;
+
+import com.example.order_service.dto.CreateOrderRequest;
+import com.example.order_service.dto.OrderItemRequest;
+import com.example.order_service.entity.IdempotencyRecord;
+import com.example.order_service.exception.BadRequestException;
+import com.example.order_service.repository.IdempotencyRecordRepository;
+import com.example.order_service.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * POST /api/orders with an Idempotency-Key creates one order per (user, key): retries and
+ * concurrent duplicates get the original order back, until the key expires
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class IdempotencyServiceTest {
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyRecordRepository.deleteAll();
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void execute_SameKeyTwice_ReplaysOriginalOrder() {
+        AtomicInteger created = new AtomicInteger();
+
+        IdempotencyService.Result first = idempotencyService.execute(9L, "key-1", record -> {
+            created.incrementAndGet();
+            return orderService.createOrder(request(9L), null, record);
+        });
+        IdempotencyService.Result retry = idempotencyService.execute(9L, "key-1", record -> {
+            created.incrementAndGet();
+            return orderService.createOrder(request(9L), null, record);
+        });
+
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        assertEquals(first.order().getId(), retry.order().getId());
+        assertEquals(1, created.get());
+        assertEquals(1, orderRepository.count());
+    }
+
+    @Test
+    void execute_ConcurrentDuplicate_WaitsForFirstExecution() throws Exception {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        AtomicInteger created = new AtomicInteger();
+
+        CompletableFuture<IdempotencyService.Result> first = CompletableFuture.supplyAsync(() ->
+                idempotencyService.execute(9L, "key-2", record -> {
+                    firstStarted.countDown();
+                    await(releaseFirst);
+                    created.incrementAndGet();
+                    return orderService.createOrder(request(9L), null, record);
+                }));
+        assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<IdempotencyService.Result> duplicate = CompletableFuture.supplyAsync(() ->
+                idempotencyService.execute(9L, "key-2", record -> {
+                    created.incrementAndGet();
+                    return orderService.createOrder(request(9L), null, record);
+                }));
+        Thread.sleep(200);
+        assertFalse(duplicate.isDone(), "The duplicate must wait for the in-flight request");
+        releaseFirst.countDown();
+
+        IdempotencyService.Result firstResult = first.get(5, TimeUnit.SECONDS);
+        IdempotencyService.Result duplicateResult = duplicate.get(5, TimeUnit.SECONDS);
+        assertEquals(firstResult.order().getId(), duplicateResult.order().getId());
+        assertTrue(duplicateResult.replayed());
+        assertEquals(1, created.get());
+        assertEquals(1, orderRepository.count());
+    }
+
+    @Test
+    void execute_SameKeyDifferentUsers_CreatesSeparateOrders() {
+        IdempotencyService.Result first = idempotencyService.execute(9L, "shared-key",
+                record -> orderService.createOrder(request(9L), null, record));
+        IdempotencyService.Result other = idempotencyService.execute(10L, "shared-key",
+                record -> orderService.createOrder(request(10L), null, record));
+
+        assertFalse(other.replayed());
+        assertNotEquals(first.order().getId(), other.order().getId());
+        assertEquals(2, orderRepository.count());
+    }
+
+    @Test
+    void execute_ExpiredKey_CreatesNewOrder() {
+        IdempotencyService.Result first = idempotencyService.execute(9L, "key-3",
+                record -> orderService.createOrder(request(9L), null, record));
+        IdempotencyRecord record = idempotencyRecordRepository.findByUserIdAndIdempotencyKey(9L, "key-3").orElseThrow();
+        record.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        idempotencyRecordRepository.save(record);
+
+        IdempotencyService.Result second = idempotencyService.execute(9L, "key-3",
+                newRecord -> orderService.createOrder(request(9L), null, newRecord));
+
+        assertFalse(second.replayed());
+        assertNotEquals(first.order().getId(), second.order().getId());
+        assertEquals(second.order().getId(),
+                idempotencyRecordRepository.findByUserIdAndIdempotencyKey(9L, "key-3").orElseThrow().getOrderId());
+    }
+
+    @Test
+    void execute_BlankOrTooLongKey_Rejected() {
+        assertThrows(BadRequestException.class, () -> idempotencyService.execute(9L, " ",
+                record -> orderService.createOrder(request(9L), null, record)));
+        assertThrows(BadRequestException.class, () -> idempotencyService.execute(9L, "k".repeat(256),
+                record -> orderService.createOrder(request(9L), null, record)));
+        assertEquals(0, orderRepository.count());
+    }
+
+    private static CreateOrderRequest request(Long userId) {
+        return new CreateOrderRequest(3L, userId, List.of(new OrderItemRequest(5L, "Soup", 1, new BigDecimal("4.50"))));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
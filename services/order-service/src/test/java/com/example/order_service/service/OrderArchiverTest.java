@@ -0,0 +1,132 @@
+package com.example.order_service.service;
+
+import com.example.order_service.dto.OrderResponse;
+import com.example.order_service.entity.ArchivedOrder;
+import com.example.order_service.entity.Order;
+import com.example.order_service.entity.OrderItem;
+import com.example.order_service.repository.ArchivedOrderRepository;
+import com.example.order_service.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Orders SERVED before the retention window move to the archive tables in batches, items
+ * included; everything else stays hot, and reads still find archived orders.
+ * The scheduler never fires during the test; it calls the archiver directly.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "order-archive.enabled=true",
+        "order-archive.initial-delay-ms=3600000",
+        "order-archive.served-retention-hours=24",
+        "order-archive.batch-size=2"
+})
+class OrderArchiverTest {
+
+    @Autowired
+    private OrderArchiver orderArchiver;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM order_items_archive");
+        jdbcTemplate.update("DELETE FROM orders_archive");
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void archiveServedOrders_MovesOnlyOldServedOrdersAcrossBatches() {
+        List<Long> oldServed = List.of(
+                seedOrder(Order.OrderStatus.SERVED, 48),
+                seedOrder(Order.OrderStatus.SERVED, 30),
+                seedOrder(Order.OrderStatus.SERVED, 25));
+        Long recentServed = seedOrder(Order.OrderStatus.SERVED, 1);
+        Long oldActive = seedOrder(Order.OrderStatus.PREPARING, 48);
+
+        orderArchiver.archiveServedOrders();
+
+        assertEquals(Stream.of(recentServed, oldActive).sorted().toList(),
+                orderRepository.findAll().stream().map(Order::getId).sorted().toList());
+        assertEquals(oldServed, archivedOrderRepository.findAll().stream().map(ArchivedOrder::getId).sorted().toList());
+        assertEquals(6, count("order_items_archive"));
+        assertEquals(4, count("order_items"));
+    }
+
+    @Test
+    void archivedOrder_StillReadableWithItems() {
+        Long orderId = seedOrder(Order.OrderStatus.SERVED, 48);
+        seedOrder(Order.OrderStatus.CREATED, 0);
+
+        orderArchiver.archiveServedOrders();
+
+        OrderResponse archived = orderService.getOrderById(orderId);
+        assertEquals(Order.OrderStatus.SERVED, archived.getStatus());
+        assertEquals(2, archived.getItems().size());
+        assertEquals(new BigDecimal("8.50"), archived.getTotalAmount());
+        assertEquals(2, orderService.getOrdersByTablePage(3L, null, 10).getOrders().size(),
+                "Table history unions hot and archived orders");
+    }
+
+    @Test
+    void archiveServedOrders_NothingOldEnough_NoChange() {
+        seedOrder(Order.OrderStatus.SERVED, 2);
+
+        orderArchiver.archiveServedOrders();
+
+        assertEquals(1, orderRepository.count());
+        assertEquals(0, archivedOrderRepository.count());
+    }
+
+    private Long seedOrder(Order.OrderStatus status, long updatedHoursAgo) {
+        Order order = new Order();
+        order.setTableId(3L);
+        order.setUserId(9L);
+        order.setStatus(status);
+        order.addItem(item(5L, "Soup", 1, "4.50"));
+        order.addItem(item(7L, "Bread", 2, "2.00"));
+        order.calculateTotalAmount();
+        Long id = orderRepository.save(order).getId();
+
+        // updated_at is maintained by Hibernate, so age the row directly
+        jdbcTemplate.update("UPDATE orders SET updated_at = ? WHERE id = ?",
+                LocalDateTime.now().minusHours(updatedHoursAgo), id);
+        return id;
+    }
+
+    private static OrderItem item(Long itemId, String name, int quantity, String unitPrice) {
+        OrderItem item = new OrderItem();
+        item.setItemId(itemId);
+        item.setItemName(name);
+        item.setQuantity(quantity);
+        item.setUnitPrice(new BigDecimal(unitPrice));
+        return item;
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+}
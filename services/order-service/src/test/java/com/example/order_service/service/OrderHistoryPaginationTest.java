@@ -0,0 +1,179 @@
+package com.example.order_service.service;
+
+import com.example.order_service.controller.OrderController;
+import com.example.order_service.dto.OrderPageResponse;
+import com.example.order_service.dto.OrderResponse;
+import com.example.order_service.entity.Order;
+import com.example.order_service.exception.BadRequestException;
+import com.example.order_service.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Keyset pages walk the union of hot and archived orders newest first, with page boundaries
+ * falling between the two tables and between orders created at the same instant, without
+ * skipping or repeating orders. Unpaginated lists are capped at the newest 100 orders.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderHistoryPaginationTest {
+
+    private static final long TABLE_ID = 4L;
+    private static final long USER_ID = 21L;
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 2, 15, 12, 0);
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderController orderController;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long nextArchivedId = 10_000;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM orders_archive");
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void getOrdersByTablePage_PagesSpanHotAndArchive_NewestFirstWithoutGapsOrRepeats() {
+        List<Long> expected = seedMixedHistory();
+
+        List<Long> walked = walkPages(2, (cursor, limit) -> orderService.getOrdersByTablePage(TABLE_ID, cursor, limit));
+
+        assertEquals(expected, walked);
+    }
+
+    @Test
+    void getOrdersByUserPage_PagesSpanHotAndArchive_NewestFirstWithoutGapsOrRepeats() {
+        List<Long> expected = seedMixedHistory();
+
+        List<Long> walked = walkPages(3, (cursor, limit) -> orderService.getOrdersByUserPage(USER_ID, cursor, limit));
+
+        assertEquals(expected, walked);
+    }
+
+    @Test
+    void getOrdersByTablePage_NewOrderAfterFirstPage_NotRepeatedOrSkipped() {
+        List<Long> expected = seedMixedHistory();
+        OrderPageResponse first = orderService.getOrdersByTablePage(TABLE_ID, null, 3);
+
+        seedHot(BASE.plusHours(1));
+        OrderPageResponse second = orderService.getOrdersByTablePage(TABLE_ID, first.getNextCursor(), 3);
+
+        assertEquals(expected.subList(0, 3), ids(first));
+        assertEquals(expected.subList(3, 6), ids(second));
+    }
+
+    @Test
+    void getOrdersByTablePage_LimitOutOfRange_BadRequest() {
+        assertThrows(BadRequestException.class, () -> orderService.getOrdersByTablePage(TABLE_ID, null, 0));
+        assertThrows(BadRequestException.class, () -> orderService.getOrdersByTablePage(TABLE_ID, null, -5));
+        assertThrows(BadRequestException.class, () -> orderService.getOrdersByUserPage(USER_ID, null, 101));
+    }
+
+    @Test
+    void getOrdersByTable_Unpaginated_CappedAtNewest100WithNextCursor() {
+        for (int i = 0; i < 100; i++) {
+            seedHot(BASE.minusMinutes(i));
+        }
+        Long oldest = seedArchived(BASE.minusDays(30));
+
+        ResponseEntity<List<OrderResponse>> response = orderController.getOrdersByTable(TABLE_ID);
+
+        assertEquals(100, response.getBody().size());
+        assertFalse(response.getBody().stream().anyMatch(order -> order.getId().equals(oldest)));
+        String nextCursor = response.getHeaders().getFirst("X-Next-Cursor");
+        assertNotNull(nextCursor);
+        assertEquals(List.of(oldest), ids(orderService.getOrdersByTablePage(TABLE_ID, nextCursor, 100)));
+    }
+
+    @Test
+    void getOrdersByUser_Unpaginated_AllFit_NoNextCursor() {
+        List<Long> expected = seedMixedHistory();
+
+        ResponseEntity<List<OrderResponse>> response = orderController.getOrdersByUser(USER_ID);
+
+        assertEquals(expected, response.getBody().stream().map(OrderResponse::getId).toList());
+        assertNull(response.getHeaders().getFirst("X-Next-Cursor"));
+    }
+
+    /**
+     * Hot and archived orders interleaved in time, including a hot and an archived order
+     * created at the same instant; returns their ids newest first (createdAt DESC, id DESC)
+     */
+    private List<Long> seedMixedHistory() {
+        Long hot1 = seedHot(BASE);
+        Long archived1 = seedArchived(BASE.minusMinutes(5));
+        Long hot2 = seedHot(BASE.minusMinutes(10));
+        Long archived2 = seedArchived(BASE.minusMinutes(10));
+        Long archived3 = seedArchived(BASE.minusMinutes(20));
+        Long hot3 = seedHot(BASE.minusMinutes(30));
+        Long archived4 = seedArchived(BASE.minusMinutes(40));
+        // Archived ids are higher than hot ids, so at the shared instant the archived order comes first
+        return List.of(hot1, archived1, archived2, hot2, archived3, hot3, archived4);
+    }
+
+    private List<Long> walkPages(int limit, BiFunction<String, Integer, OrderPageResponse> fetch) {
+        List<Long> walked = new ArrayList<>();
+        String cursor = null;
+        for (int page = 0; page < 20; page++) {
+            OrderPageResponse response = fetch.apply(cursor, limit);
+            assertTrue(response.getOrders().size() <= limit);
+            walked.addAll(ids(response));
+            if (!response.isHasMore()) {
+                assertNull(response.getNextCursor());
+                return walked;
+            }
+            assertEquals(limit, response.getOrders().size(), "Only the last page may be short");
+            cursor = response.getNextCursor();
+        }
+        return fail("Pagination did not terminate");
+    }
+
+    private static List<Long> ids(OrderPageResponse page) {
+        return page.getOrders().stream().map(OrderResponse::getId).toList();
+    }
+
+    private Long seedHot(LocalDateTime createdAt) {
+        Order order = new Order();
+        order.setTableId(TABLE_ID);
+        order.setUserId(USER_ID);
+        order.setStatus(Order.OrderStatus.SERVED);
+        order.setTotalAmount(new BigDecimal("9.00"));
+        Long id = orderRepository.save(order).getId();
+
+        // created_at is set by Hibernate on insert, so move the row in time directly
+        jdbcTemplate.update("UPDATE orders SET created_at = ? WHERE id = ?", createdAt, id);
+        return id;
+    }
+
+    private Long seedArchived(LocalDateTime createdAt) {
+        long id = nextArchivedId++;
+        jdbcTemplate.update("INSERT INTO orders_archive "
+                        + "(id, table_id, user_id, status, total_amount, created_at, updated_at, archived_at) "
+                        + "VALUES (?, ?, ?, 'SERVED', 9.00, ?, ?, ?)",
+                id, TABLE_ID, USER_ID, createdAt, createdAt, LocalDateTime.now());
+        return id;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.order_service.service;
+
+import com.example.order_service.dto.OrderResponse;
+import com.example.order_service.entity.Order;
+import com.example.order_service.entity.OrderItem;
+import com.example.order_service.repository.OrderRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that the order list queries load items without an N+1 round trip per order.
+ * The number of prepared statements must stay the same no matter how many orders exist.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderServiceQueryCountTest {
+
+    private static final long TABLE_ID = 7L;
+    private static final long USER_ID = 42L;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void getActiveOrders_StatementCountIndependentOfOrderCount() {
+        seedOrders(3);
+        long fewOrders = countStatements(() -> orderService.getActiveOrders(), 3);
+
+        seedOrders(30);
+        long manyOrders = countStatements(() -> orderService.getActiveOrders(), 33);
+
+        assertEquals(1, fewOrders, "Active orders and their items should load in one statement");
+        assertEquals(fewOrders, manyOrders, "Statement count should not grow with the number of orders");
+    }
+
+    @Test
+    void getOrdersByTablePage_StatementCountIndependentOfOrderCount() {
+        seedOrders(3);
+        long fewOrders = countStatements(() -> orderService.getOrdersByTablePage(TABLE_ID, null, 50).getOrders(), 3);
+
+        seedOrders(30);
+        long manyOrders = countStatements(() -> orderService.getOrdersByTablePage(TABLE_ID, null, 50).getOrders(), 33);
+
+        assertEquals(fewOrders, manyOrders, "Statement count should not grow with the number of orders");
+    }
+
+    @Test
+    void getOrdersByUserPage_StatementCountIndependentOfOrderCount() {
+        seedOrders(3);
+        long fewOrders = countStatements(() -> orderService.getOrdersByUserPage(USER_ID, null, 50).getOrders(), 3);
+
+        seedOrders(30);
+        long manyOrders = countStatements(() -> orderService.getOrdersByUserPage(USER_ID, null, 50).getOrders(), 33);
+
+        assertEquals(fewOrders, manyOrders, "Statement count should not grow with the number of orders");
+    }
+
+    private long countStatements(Supplier<List<OrderResponse>> query, int expectedOrders) {
+        statistics.clear();
+
+        List<OrderResponse> orders = query.get();
+
+        assertEquals(expectedOrders, orders.size());
+        orders.forEach(order -> assertEquals(2, order.getItems().size(), "Each order should have its 2 items"));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seedOrders(int count) {
+        for (int i = 0; i < count; i++) {
+            Order order = new Order();
+            order.setTableId(TABLE_ID);
+            order.setUserId(USER_ID);
+            order.setStatus(Order.OrderStatus.CREATED);
+            order.addItem(newItem(1L, "Burger", 1, "12.50"));
+            order.addItem(newItem(2L, "Fries", 2, "3.75"));
+            order.calculateTotalAmount();
+            orderRepository.save(order);
+        }
+    }
+
+    private OrderItem newItem(Long itemId, String name, int quantity, String unitPrice) {
+        OrderItem item = new OrderItem();
+        item.setItemId(itemId);
+        item.setItemName(name);
+        item.setQuantity(quantity);
+        item.setUnitPrice(new BigDecimal(unitPrice));
+        return item;
+    }
+}
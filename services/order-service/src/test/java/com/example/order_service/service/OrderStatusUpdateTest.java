@@ -0,0 +1,129 @@
+package com.example.order_service.service;
+
+import com.example.order_service.dto.OrderEvent;
+import com.example.order_service.dto.OrderResponse;
+import com.example.order_service.entity.Order;
+import com.example.order_service.exception.ConflictException;
+import com.example.order_service.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+
+/**
+ * Status updates go through the compare-and-set UPDATE: a status that changed since it was read
+ * is a 409 that writes nothing, and what callers and order events see is the order as persisted
+ * afterwards
+ */
+@SpringBootTest
+@RecordApplicationEvents
+@ActiveProfiles("test")
+class OrderStatusUpdateTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @MockitoSpyBean
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void updateOrderStatuses_ResponsesAndEventsCarryPersistedState() {
+        Long first = seedOrder(Order.OrderStatus.CREATED);
+        Long second = seedOrder(Order.OrderStatus.CONFIRMED);
+
+        List<OrderResponse> responses = orderService.updateOrderStatuses(List.of(first, second),
+                Order.OrderStatus.PREPARING);
+
+        assertEquals(2, responses.size());
+        for (OrderResponse response : responses) {
+            Order persisted = orderRepository.findById(response.getId()).orElseThrow();
+            assertEquals(Order.OrderStatus.PREPARING, persisted.getStatus());
+            assertEquals(persisted.getVersion(), response.getVersion());
+            assertEquals(1L, response.getVersion(), "The compare-and-set UPDATE bumps the version");
+            assertNotNull(response.getUpdatedAt());
+        }
+
+        List<OrderEvent> events = applicationEvents.stream(OrderEvent.class).toList();
+        assertEquals(2, events.size());
+        events.forEach(event -> {
+            assertEquals(Order.OrderStatus.PREPARING, event.getStatus());
+            assertEquals(1L, event.getOrder().getVersion());
+        });
+        assertEquals(Order.OrderStatus.CREATED, eventFor(events, first).getPreviousStatus());
+        assertEquals(Order.OrderStatus.CONFIRMED, eventFor(events, second).getPreviousStatus());
+    }
+
+    @Test
+    void updateOrderStatus_Success_BumpsVersion() {
+        Long orderId = seedOrder(Order.OrderStatus.CONFIRMED);
+
+        OrderResponse response = orderService.updateOrderStatus(orderId, Order.OrderStatus.PREPARING);
+
+        assertEquals(Order.OrderStatus.PREPARING, response.getStatus());
+        assertEquals(1L, response.getVersion());
+        assertEquals(1, applicationEvents.stream(OrderEvent.class).count());
+    }
+
+    @Test
+    void updateOrderStatus_StatusChangedSinceRead_ConflictAndNothingWritten() {
+        // Another request moved the order to CONFIRMED after this one read CREATED
+        Long orderId = seedOrder(Order.OrderStatus.CONFIRMED);
+        doReturn(Optional.of(Order.OrderStatus.CREATED)).when(orderRepository).findStatusById(orderId);
+
+        assertThrows(ConflictException.class,
+                () -> orderService.updateOrderStatus(orderId, Order.OrderStatus.CONFIRMED));
+
+        Order persisted = orderRepository.findById(orderId).orElseThrow();
+        assertEquals(Order.OrderStatus.CONFIRMED, persisted.getStatus());
+        assertEquals(0L, persisted.getVersion());
+        assertEquals(0, applicationEvents.stream(OrderEvent.class).count());
+    }
+
+    @Test
+    void updateOrderStatuses_OneOrderChangedConcurrently_WholeBatchRolledBack() {
+        Long first = seedOrder(Order.OrderStatus.CREATED);
+        Long second = seedOrder(Order.OrderStatus.CREATED);
+        doReturn(0).when(orderRepository).compareAndSetStatus(eq(second), any(), any(), any());
+
+        assertThrows(ConflictException.class,
+                () -> orderService.updateOrderStatuses(List.of(first, second), Order.OrderStatus.CONFIRMED));
+
+        assertEquals(Order.OrderStatus.CREATED, orderRepository.findById(first).orElseThrow().getStatus());
+        assertEquals(0L, orderRepository.findById(first).orElseThrow().getVersion());
+        assertEquals(0, applicationEvents.stream(OrderEvent.class).count());
+    }
+
+    private static OrderEvent eventFor(List<OrderEvent> events, Long orderId) {
+        return events.stream().filter(event -> event.getOrderId().equals(orderId)).findFirst().orElseThrow();
+    }
+
+    private Long seedOrder(Order.OrderStatus status) {
+        Order order = new Order();
+        order.setTableId(3L);
+        order.setUserId(9L);
+        order.setStatus(status);
+        order.setTotalAmount(new BigDecimal("12.50"));
+        return orderRepository.save(order).getId();
+    }
+}
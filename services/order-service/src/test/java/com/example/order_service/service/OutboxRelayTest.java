@@ -0,0 +1,142 @@
+package com.example.order_service.service;
+
+import com.example.order_service.client.CartServiceClient;
+import com.example.order_service.dto.CreateOrderRequest;
+import com.example.order_service.dto.OrderItemRequest;
+import com.example.order_service.dto.OrderResponse;
+import com.example.order_service.entity.OutboxMessage;
+import com.example.order_service.repository.OrderRepository;
+import com.example.order_service.repository.OutboxMessageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Cart cleanup queued by createOrder: the outbox holds only the ordered item ids (never the
+ * user's token), OutboxRelay retries 5xx, gives up on 4xx, and old FAILED rows are purged.
+ * The scheduler runs once at startup; the tests call the relay directly.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "order-outbox.enabled=true",
+        "order-outbox.interval-ms=3600000",
+        "order-outbox.cleanup-interval-ms=3600000",
+        "order-outbox.failed-retention-hours=0"
+})
+class OutboxRelayTest {
+
+    private static final String USER_TOKEN = "Bearer user-token-123";
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @MockitoBean
+    private CartServiceClient cartServiceClient;
+
+    @BeforeEach
+    void setUp() {
+        outboxMessageRepository.deleteAll();
+        orderRepository.deleteAll();
+        reset(cartServiceClient);
+    }
+
+    @Test
+    void createOrder_QueuesOrderedItemsWithoutUserToken() {
+        OrderResponse order = placeOrder();
+
+        OutboxMessage message = singleMessage();
+        assertEquals(order.getId(), message.getOrderId());
+        assertEquals(OutboxMessage.Status.PENDING, message.getStatus());
+        assertFalse(message.getPayload().contains("user-token-123"), message.getPayload());
+        assertFalse(message.getPayload().contains("Bearer"), message.getPayload());
+
+        outboxRelay.relayPendingMessages();
+
+        verify(cartServiceClient).removeOrderedItems(9L, 3L, List.of(5L, 7L));
+        assertEquals(OutboxMessage.Status.DELIVERED, singleMessage().getStatus());
+    }
+
+    @Test
+    void relay_ServerError_SchedulesRetry() {
+        placeOrder();
+        doThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE))
+                .when(cartServiceClient).removeOrderedItems(anyLong(), anyLong(), any());
+
+        outboxRelay.relayPendingMessages();
+
+        OutboxMessage message = singleMessage();
+        assertEquals(OutboxMessage.Status.PENDING, message.getStatus());
+        assertEquals(1, message.getAttempts());
+        assertNotNull(message.getLastError());
+        assertTrue(message.getNextAttemptAt().isAfter(LocalDateTime.now()));
+    }
+
+    @Test
+    void relay_ClientError_MarksFailed() {
+        placeOrder();
+        doThrow(new HttpClientErrorException(HttpStatus.UNAUTHORIZED))
+                .when(cartServiceClient).removeOrderedItems(anyLong(), anyLong(), any());
+
+        outboxRelay.relayPendingMessages();
+
+        assertEquals(OutboxMessage.Status.FAILED, singleMessage().getStatus());
+    }
+
+    @Test
+    void deleteFinishedMessages_PurgesFailedKeepsRecentDelivered() {
+        placeOrder();
+        doThrow(new HttpClientErrorException(HttpStatus.BAD_REQUEST))
+                .when(cartServiceClient).removeOrderedItems(anyLong(), anyLong(), any());
+        outboxRelay.relayPendingMessages();
+
+        reset(cartServiceClient);
+        placeOrder();
+        outboxRelay.relayPendingMessages();
+
+        outboxRelay.deleteFinishedMessages();
+
+        // failed-retention-hours=0 drops the FAILED row; the delivered one is within its 24h
+        assertEquals(OutboxMessage.Status.DELIVERED, singleMessage().getStatus());
+    }
+
+    private OrderResponse placeOrder() {
+        CreateOrderRequest request = new CreateOrderRequest(3L, 9L, List.of(
+                new OrderItemRequest(5L, "Soup", 1, new BigDecimal("4.50")),
+                new OrderItemRequest(7L, "Bread", 2, new BigDecimal("2.00"))));
+        return orderService.createOrder(request, USER_TOKEN);
+    }
+
+    private OutboxMessage singleMessage() {
+        List<OutboxMessage> messages = outboxMessageRepository.findAll();
+        assertEquals(1, messages.size());
+        return messages.get(0);
+    }
+}
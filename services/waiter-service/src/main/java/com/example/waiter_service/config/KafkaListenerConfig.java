@@ -0,0 +1,32 @@
+package com.example.waiter_service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+
+/**
+ * Batch listener container for order-ready events
+ *
+ * Each poll (up to spring.kafka.consumer.max-poll-records) is handed to the listener as one
+ * batch. order-ready-listener.concurrency consumer threads share the topic's partitions; set it
+ * to the partition count for one thread per partition (extra threads stay idle). Everything else
+ * comes from the spring.kafka.* properties, and the default container factory is left as is.
+ */
+@Configuration
+public class KafkaListenerConfig {
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> orderReadyBatchListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> kafkaConsumerFactory,
+            @Value("${order-ready-listener.concurrency:3}") int concurrency) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, kafkaConsumerFactory);
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        return factory;
+    }
+}
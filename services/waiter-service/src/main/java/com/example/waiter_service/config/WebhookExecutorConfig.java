@@ -0,0 +1,38 @@
+package com.example.waiter_service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executor for webhook notifications
+ *
+ * The Kafka listener hands each notification to this pool and moves on to the next record, so a
+ * slow webhook endpoint no longer holds up consumption. When the queue is full the listener
+ * thread sends the notification itself, which slows consumption down instead of dropping it.
+ * Queued notifications only live in memory and their Kafka offsets are already committed: on
+ * shutdown the pool gets await-termination-seconds to drain, and a crash loses them.
+ * Pool metrics are exported as executor.* (name=webhookExecutor).
+ */
+@Configuration
+public class WebhookExecutorConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor webhookExecutor(
+            @Value("${webhook.executor.pool-size:8}") int poolSize,
+            @Value("${webhook.executor.queue-capacity:500}") int queueCapacity,
+            @Value("${webhook.executor.await-termination-seconds:10}") int awaitTerminationSeconds) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("webhook-");
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(awaitTerminationSeconds);
+        return executor;
+    }
+}
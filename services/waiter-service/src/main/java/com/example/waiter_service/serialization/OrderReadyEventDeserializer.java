@@ -0,0 +1,105 @@
+package com.example.waiter_service.serialization;
+
+import com.example.waiter_service.dto.OrderReadyEvent;
+import com.restaurant.events.FileSchemaRegistry;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads order-ready events in either format KDS can publish (kafka.serialization.format)
+ *
+ * - Records with a schema-id header are Avro binary: the writer schema is looked up by id in the
+ *   FileSchemaRegistry at avro.schema.registry.location and resolved against the latest
+ *   order-ready schema, so older and newer KDS versions can publish side by side.
+ * - Anything else goes to the JsonDeserializer, configured from the usual spring.json.* properties.
+ *
+ * Used as the ErrorHandlingDeserializer delegate, so undecodable records are reported, not retried.
+ */
+public class OrderReadyEventDeserializer implements Deserializer<OrderReadyEvent> {
+
+    public static final String SCHEMA_REGISTRY_LOCATION = "avro.schema.registry.location";
+    public static final String SCHEMA_ID_HEADER = "schema-id";
+    public static final String SUBJECT = "order-ready";
+
+    private final JsonDeserializer<OrderReadyEvent> jsonDeserializer = new JsonDeserializer<>();
+    private final Map<String, GenericDatumReader<GenericRecord>> readers = new ConcurrentHashMap<>();
+    private FileSchemaRegistry schemaRegistry;
+    private Schema readerSchema;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonDeserializer.configure(configs, isKey);
+
+        Object location = configs.get(SCHEMA_REGISTRY_LOCATION);
+        schemaRegistry = new FileSchemaRegistry(location != null ? location.toString() : "classpath*:avro/");
+        readerSchema = schemaRegistry.getSchema(schemaRegistry.getLatestId(SUBJECT)).orElseThrow();
+    }
+
+    @Override
+    public OrderReadyEvent deserialize(String topic, Headers headers, byte[] data) {
+        Header schemaId = headers != null ? headers.lastHeader(SCHEMA_ID_HEADER) : null;
+        if (schemaId == null) {
+            return jsonDeserializer.deserialize(topic, headers, data);
+        }
+        if (data == null) {
+            return null;
+        }
+        return decodeAvro(new String(schemaId.value(), StandardCharsets.UTF_8), data);
+    }
+
+    @Override
+    public OrderReadyEvent deserialize(String topic, byte[] data) {
+        return jsonDeserializer.deserialize(topic, data);
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+
+    private OrderReadyEvent decodeAvro(String schemaId, byte[] data) {
+        GenericDatumReader<GenericRecord> reader = readers.computeIfAbsent(schemaId, id -> {
+            Schema writerSchema = schemaRegistry.getSchema(id)
+                    .orElseThrow(() -> new SerializationException("Unknown order-ready schema id " + id));
+            return new GenericDatumReader<>(writerSchema, readerSchema);
+        });
+
+        try {
+            return toEvent(reader.read(null, DecoderFactory.get().binaryDecoder(data, null)));
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Failed to decode order-ready event with schema " + schemaId, e);
+        }
+    }
+
+    private static OrderReadyEvent toEvent(GenericRecord record) {
+        List<OrderReadyEvent.OrderItem> items = new ArrayList<>();
+        for (Object item : (List<?>) record.get("items")) {
+            GenericRecord itemRecord = (GenericRecord) item;
+            Object itemName = itemRecord.get("itemName");
+            items.add(new OrderReadyEvent.OrderItem(itemName != null ? itemName.toString() : null,
+                    (Integer) itemRecord.get("quantity")));
+        }
+
+        // KDS sends readyAt as local-timestamp-millis
+        Long readyAt = (Long) record.get("readyAt");
+        return new OrderReadyEvent((Long) record.get("orderId"), (Long) record.get("tableId"), items,
+                readyAt != null ? LocalDateTime.ofInstant(Instant.ofEpochMilli(readyAt), ZoneOffset.UTC) : null);
+    }
+}
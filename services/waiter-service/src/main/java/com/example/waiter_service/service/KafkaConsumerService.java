@@ -1,63 +1,112 @@
 package com.example.waiter_service.service;
 
 import com.example.waiter_service.dto.OrderReadyEvent;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
+
 import java.util.ArrayList;
-import java.util.List;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Consumes order-ready events in batches (see KafkaListenerConfig)
+ *
+ * Each event is pushed to waiter screens over STOMP and handed to the webhook executor; the
+ * listener never waits on the webhook endpoint. The batch's offsets are committed as soon as the
+ * listener returns, before queued notifications are sent, so webhooks are at-most-once: a crash
+ * loses whatever is still in the executor queue (up to webhook.executor.queue-capacity). A normal
+ * shutdown drains the queue first (see WebhookExecutorConfig).
+ *
+ * KDS delivers order-ready events at-least-once, so an event whose orderId was among the last
+ * order-ready-listener.dedupe-window orders is dropped as a duplicate. Metrics:
+ * - waiter.order-ready.batch: processing time per batch
+ * - waiter.order-ready.batch.size: records per batch
+ * - waiter.order-ready.duplicates: events dropped because their orderId was already seen
+ * - waiter.order-ready.consumer.lag{topic,partition}: records behind the end of each partition,
+ *   as of the last batch from that partition (kafka.consumer.fetch.manager.records.lag.* has the
+ *   client's own view)
+ */
 @Service
 public class KafkaConsumerService {
 
-    @Autowired
-    private SimpMessagingTemplate messagingTemplate;
+    private static final Logger logger = LoggerFactory.getLogger(KafkaConsumerService.class);
 
-    @Autowired
-    private WebhookService webhookService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final WebhookService webhookService;
+    private final MeterRegistry meterRegistry;
+    private final Timer batchTimer;
+    private final DistributionSummary batchSize;
+    private final Counter duplicateCounter;
+    private final Map<TopicPartition, AtomicLong> consumerLag = new ConcurrentHashMap<>();
 
     private final List<OrderReadyEvent> receivedOrders = Collections.synchronizedList(new ArrayList<>());
     private final List<String> rawMessages = Collections.synchronizedList(new ArrayList<>());
     private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
-    private int messageCount = 0;
-
-    @KafkaListener(topics = "${spring.kafka.topic.order-ready}", groupId = "waiter-group-v2")
-    public void listen(ConsumerRecord<String, OrderReadyEvent> record) {
-        messageCount++;
-        System.out.println(">>> KAFKA MESSAGE RECEIVED! Count: " + messageCount);
-        System.out.println(">>> Topic: " + record.topic() + ", Partition: " + record.partition() + ", Offset: " + record.offset());
-        System.out.println(">>> Key: " + record.key());
-        System.out.println(">>> Value: " + record.value());
-        
-        try {
-            OrderReadyEvent event = record.value();
-            if (event != null) {
-                System.out.println(">>> Deserialized event - orderId: " + event.getOrderId() + ", tableId: " + event.getTableId());
-                receivedOrders.add(0, event);
-                if (receivedOrders.size() > 50) {
-                    receivedOrders.remove(receivedOrders.size() - 1);
-                }
-                messagingTemplate.convertAndSend("/topic/orders", event);
-                webhookService.sendOrderReadyNotification(event);
-            } else {
-                String errMsg = "Event was null after deserialization at offset " + record.offset();
-                System.out.println(">>> ERROR: " + errMsg);
-                errors.add(errMsg);
+    private final AtomicInteger messageCount = new AtomicInteger();
+    private final Set<Long> recentOrderIds;
+
+    public KafkaConsumerService(
+            SimpMessagingTemplate messagingTemplate,
+            WebhookService webhookService,
+            MeterRegistry meterRegistry,
+            @Value("${order-ready-listener.dedupe-window:1000}") int dedupeWindow) {
+        this.messagingTemplate = messagingTemplate;
+        this.webhookService = webhookService;
+        this.meterRegistry = meterRegistry;
+        this.recentOrderIds = Collections.newSetFromMap(new LinkedHashMap<Long, Boolean>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+                return size() > dedupeWindow;
             }
-        } catch (Exception e) {
-            String errMsg = "Error processing message at offset " + record.offset() + ": " + e.getMessage();
-            System.out.println(">>> ERROR: " + errMsg);
-            errors.add(errMsg);
-            e.printStackTrace();
+        });
+
+        this.batchTimer = Timer.builder("waiter.order-ready.batch")
+                .description("Time to process one batch of order-ready events")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("waiter.order-ready.batch.size")
+                .description("Order-ready events per batch")
+                .register(meterRegistry);
+        this.duplicateCounter = Counter.builder("waiter.order-ready.duplicates")
+                .description("Order-ready events dropped as repeats of an already seen orderId")
+                .register(meterRegistry);
+    }
+
+    @KafkaListener(topics = "${spring.kafka.topic.order-ready}", groupId = "waiter-group-v2",
+                   containerFactory = "orderReadyBatchListenerContainerFactory")
+    public void listen(List<ConsumerRecord<String, OrderReadyEvent>> records, Consumer<?, ?> consumer) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        logger.debug("Received batch of {} order-ready events", records.size());
+
+        Set<TopicPartition> partitions = new LinkedHashSet<>();
+        for (ConsumerRecord<String, OrderReadyEvent> record : records) {
+            partitions.add(new TopicPartition(record.topic(), record.partition()));
+            process(record);
         }
+        partitions.forEach(partition -> recordLag(partition, consumer.currentLag(partition)));
+
+        batchSize.record(records.size());
+        sample.stop(batchTimer);
     }
 
     // Raw string listener on a DIFFERENT consumer group to independently verify messages
@@ -68,10 +117,12 @@ public class KafkaConsumerService {
                    })
     public void listenRaw(ConsumerRecord<String, String> record) {
         String raw = "RAW[offset=" + record.offset() + "]: " + record.value();
-        System.out.println(">>> " + raw);
-        rawMessages.add(0, raw);
-        if (rawMessages.size() > 20) {
-            rawMessages.remove(rawMessages.size() - 1);
+        logger.debug(raw);
+        synchronized (rawMessages) {
+            rawMessages.add(0, raw);
+            if (rawMessages.size() > 20) {
+                rawMessages.remove(rawMessages.size() - 1);
+            }
         }
     }
 
@@ -88,6 +139,63 @@ public class KafkaConsumerService {
     }
 
     public int getMessageCount() {
-        return messageCount;
+        return messageCount.get();
+    }
+
+    private void process(ConsumerRecord<String, OrderReadyEvent> record) {
+        int count = messageCount.incrementAndGet();
+        logger.debug("Order-ready event #{} - partition: {}, offset: {}, key: {}",
+                count, record.partition(), record.offset(), record.key());
+
+        try {
+            OrderReadyEvent event = record.value();
+            if (event != null && !firstSeen(event.getOrderId())) {
+                duplicateCounter.increment();
+                logger.info("Dropping duplicate order-ready event - orderId: {}, offset: {}",
+                        event.getOrderId(), record.offset());
+            } else if (event != null) {
+                logger.info("Order ready - orderId: {}, tableId: {}", event.getOrderId(), event.getTableId());
+                synchronized (receivedOrders) {
+                    receivedOrders.add(0, event);
+                    if (receivedOrders.size() > 50) {
+                        receivedOrders.remove(receivedOrders.size() - 1);
+                    }
+                }
+                messagingTemplate.convertAndSend("/topic/orders", event);
+                webhookService.dispatchOrderReadyNotification(event);
+            } else {
+                String errMsg = "Event was null after deserialization at offset " + record.offset();
+                logger.error(errMsg);
+                errors.add(errMsg);
+            }
+        } catch (Exception e) {
+            String errMsg = "Error processing message at offset " + record.offset() + ": " + e.getMessage();
+            logger.error(errMsg, e);
+            errors.add(errMsg);
+        }
+    }
+
+    private boolean firstSeen(Long orderId) {
+        if (orderId == null) {
+            return true;
+        }
+        synchronized (recentOrderIds) {
+            return recentOrderIds.add(orderId);
+        }
+    }
+
+    private void recordLag(TopicPartition partition, OptionalLong lag) {
+        if (lag.isEmpty()) {
+            return;
+        }
+        consumerLag.computeIfAbsent(partition, tp -> {
+            AtomicLong value = new AtomicLong();
+            Gauge.builder("waiter.order-ready.consumer.lag", value, AtomicLong::get)
+                    .description("Order-ready records not yet consumed in a partition")
+                    .tag("topic", tp.topic())
+                    .tag("partition", String.valueOf(tp.partition()))
+                    .register(meterRegistry);
+            return value;
+        }).set(lag.getAsLong());
     }
 }
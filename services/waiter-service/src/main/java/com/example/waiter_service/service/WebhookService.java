@@ -3,7 +3,9 @@ package com.example.waiter_service.service;
 import com.example.waiter_service.dto.OrderReadyEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -16,13 +18,25 @@ public class WebhookService {
     private static final Logger logger = LoggerFactory.getLogger(WebhookService.class);
 
     private final RestTemplate restTemplate;
+    private final TaskExecutor webhookExecutor;
     private final String webhookUrl;
 
-    public WebhookService(RestTemplate restTemplate, @Value("${webhook.url}") String webhookUrl) {
+    public WebhookService(
+            RestTemplate restTemplate,
+            @Qualifier("webhookExecutor") TaskExecutor webhookExecutor,
+            @Value("${webhook.url}") String webhookUrl) {
         this.restTemplate = restTemplate;
+        this.webhookExecutor = webhookExecutor;
         this.webhookUrl = webhookUrl;
     }
 
+    /**
+     * Send the notification on the webhook executor so the caller (the Kafka listener) doesn't wait for it
+     */
+    public void dispatchOrderReadyNotification(OrderReadyEvent event) {
+        webhookExecutor.execute(() -> sendOrderReadyNotification(event));
+    }
+
     public void sendOrderReadyNotification(OrderReadyEvent event) {
         try {
             logger.info("Sending order ready notification to webhook: {}", webhookUrl);
@@ -0,0 +1,87 @@
+package com.example.waiter_service.serialization;
+
+import com.example.waiter_service.dto.OrderReadyEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Waiter side of the order-ready contract: decodes the payload KDS's serializer is tested to
+ * write (shared/order-events, avro/order-ready-v1.hex), falls back to JSON without a schema-id
+ * header and rejects schema ids it doesn't know
+ */
+class OrderReadyEventDeserializerTest {
+
+    private static final String TOPIC = "order-ready";
+
+    private OrderReadyEventDeserializer deserializer;
+
+    @BeforeEach
+    void setUp() {
+        deserializer = new OrderReadyEventDeserializer();
+        deserializer.configure(Map.of(
+                OrderReadyEventDeserializer.SCHEMA_REGISTRY_LOCATION, "classpath*:avro/",
+                JsonDeserializer.TRUSTED_PACKAGES, "*",
+                JsonDeserializer.VALUE_DEFAULT_TYPE, OrderReadyEvent.class.getName(),
+                JsonDeserializer.USE_TYPE_INFO_HEADERS, false), false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        deserializer.close();
+    }
+
+    @Test
+    void deserialize_KdsAvroPayload() throws Exception {
+        OrderReadyEvent event = deserializer.deserialize(TOPIC, schemaIdHeader("order-ready-v1"), sharedPayload());
+
+        assertEquals(42L, event.getOrderId());
+        assertEquals(7L, event.getTableId());
+        assertEquals(List.of(new OrderReadyEvent.OrderItem("Soup", 2)), event.getItems());
+        assertEquals(LocalDateTime.of(2025, 1, 15, 10, 45), event.getReadyTime());
+    }
+
+    @Test
+    void deserialize_NoSchemaIdHeader_ReadsJson() {
+        byte[] json = "{\"orderId\":42,\"tableId\":7,\"items\":[{\"itemName\":\"Soup\",\"quantity\":2}]}"
+                .getBytes(StandardCharsets.UTF_8);
+
+        OrderReadyEvent event = deserializer.deserialize(TOPIC, new RecordHeaders(), json);
+
+        assertEquals(42L, event.getOrderId());
+        assertEquals(List.of(new OrderReadyEvent.OrderItem("Soup", 2)), event.getItems());
+    }
+
+    @Test
+    void deserialize_UnknownSchemaId_Rejected() throws Exception {
+        byte[] payload = sharedPayload();
+
+        SerializationException error = assertThrows(SerializationException.class,
+                () -> deserializer.deserialize(TOPIC, schemaIdHeader("order-ready-v99"), payload));
+        assertTrue(error.getMessage().contains("order-ready-v99"), error.getMessage());
+    }
+
+    private static RecordHeaders schemaIdHeader(String schemaId) {
+        RecordHeaders headers = new RecordHeaders();
+        headers.add(OrderReadyEventDeserializer.SCHEMA_ID_HEADER, schemaId.getBytes(StandardCharsets.UTF_8));
+        return headers;
+    }
+
+    private static byte[] sharedPayload() throws Exception {
+        try (InputStream in = OrderReadyEventDeserializerTest.class.getResourceAsStream("/avro/order-ready-v1.hex")) {
+            return HexFormat.of().parseHex(new String(in.readAllBytes(), StandardCharsets.US_ASCII).trim());
+        }
+    }
+}
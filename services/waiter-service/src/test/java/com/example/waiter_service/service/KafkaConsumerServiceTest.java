@@ -0,0 +1,147 @@
+package com.example.waiter_service.service;
+
+import com.example.waiter_service.dto.OrderReadyEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Order-ready batches: one batch metric per poll, lag gauges per partition, webhook calls that
+ * run on the webhook executor while the listener moves on, and KDS redeliveries dropped by orderId
+ */
+class KafkaConsumerServiceTest {
+
+    private static final String TOPIC = "order-ready";
+
+    private SimpleMeterRegistry meterRegistry;
+    private RestTemplate restTemplate;
+    private SimpMessagingTemplate messagingTemplate;
+    private ThreadPoolTaskExecutor webhookExecutor;
+    private KafkaConsumerService consumerService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        restTemplate = mock(RestTemplate.class);
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+
+        webhookExecutor = new ThreadPoolTaskExecutor();
+        webhookExecutor.setCorePoolSize(2);
+        webhookExecutor.setMaxPoolSize(2);
+        webhookExecutor.setQueueCapacity(10);
+        webhookExecutor.initialize();
+
+        WebhookService webhookService = new WebhookService(restTemplate, webhookExecutor, "http://webhook/orders");
+        consumerService = new KafkaConsumerService(messagingTemplate, webhookService, meterRegistry, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        webhookExecutor.shutdown();
+    }
+
+    @Test
+    void listen_BatchRecordedOnceAndEveryEventPushed() {
+        consumerService.listen(List.of(record(0, 10, 1L), record(1, 4, 2L), record(0, 11, 3L)), consumer(2, 0));
+
+        DistributionSummary batchSize = meterRegistry.get("waiter.order-ready.batch.size").summary();
+        assertEquals(1, batchSize.count());
+        assertEquals(3, batchSize.totalAmount());
+        assertEquals(1, meterRegistry.get("waiter.order-ready.batch").timer().count());
+        assertEquals(3, consumerService.getMessageCount());
+        verify(messagingTemplate, times(3)).convertAndSend(eq("/topic/orders"), any(OrderReadyEvent.class));
+        verify(restTemplate, timeout(2000).times(3)).postForObject(anyString(), any(), eq(String.class));
+    }
+
+    @Test
+    void listen_LagGaugePerPartition() {
+        consumerService.listen(List.of(record(0, 10, 1L), record(1, 4, 2L)), consumer(7, 3));
+
+        assertEquals(7, lagGauge(0));
+        assertEquals(3, lagGauge(1));
+
+        // Only partitions in the batch are updated
+        consumerService.listen(List.of(record(1, 5, 3L)), consumer(99, 0));
+
+        assertEquals(7, lagGauge(0));
+        assertEquals(0, lagGauge(1));
+    }
+
+    @Test
+    void listen_SlowWebhook_DoesNotBlockConsumption() throws Exception {
+        CountDownLatch webhookReleased = new CountDownLatch(1);
+        when(restTemplate.postForObject(anyString(), any(), eq(String.class))).thenAnswer(invocation -> {
+            webhookReleased.await(5, TimeUnit.SECONDS);
+            return "ok";
+        });
+
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+            consumerService.listen(List.of(record(0, 1, 1L), record(0, 2, 2L), record(0, 3, 3L)), consumer(0, 0));
+            consumerService.listen(List.of(record(0, 4, 4L), record(0, 5, 5L)), consumer(0, 0));
+        });
+        assertEquals(5, consumerService.getMessageCount());
+
+        webhookReleased.countDown();
+        verify(restTemplate, timeout(2000).times(5)).postForObject(anyString(), any(), eq(String.class));
+    }
+
+    @Test
+    void listen_RedeliveredOrderId_DroppedWithinWindow() {
+        consumerService.listen(List.of(record(0, 1, 1L), record(0, 2, 1L)), consumer(0, 0));
+        // Replayed by KDS in a later batch
+        consumerService.listen(List.of(record(0, 3, 1L)), consumer(0, 0));
+
+        verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/orders"), any(OrderReadyEvent.class));
+        verify(restTemplate, timeout(2000).times(1)).postForObject(anyString(), any(), eq(String.class));
+        assertEquals(2, meterRegistry.get("waiter.order-ready.duplicates").counter().count());
+
+        // Window of 2: order 1 is forgotten after two newer orders
+        consumerService.listen(List.of(record(0, 4, 2L), record(0, 5, 3L), record(0, 6, 1L)), consumer(0, 0));
+
+        verify(messagingTemplate, times(4)).convertAndSend(eq("/topic/orders"), any(OrderReadyEvent.class));
+    }
+
+    private double lagGauge(int partition) {
+        return meterRegistry.get("waiter.order-ready.consumer.lag")
+                .tag("partition", String.valueOf(partition))
+                .gauge().value();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Consumer<?, ?> consumer(long partition0Lag, long partition1Lag) {
+        Consumer<String, OrderReadyEvent> consumer = mock(Consumer.class);
+        when(consumer.currentLag(new TopicPartition(TOPIC, 0))).thenReturn(OptionalLong.of(partition0Lag));
+        when(consumer.currentLag(new TopicPartition(TOPIC, 1))).thenReturn(OptionalLong.of(partition1Lag));
+        return consumer;
+    }
+
+    private static ConsumerRecord<String, OrderReadyEvent> record(int partition, long offset, Long orderId) {
+        OrderReadyEvent event = new OrderReadyEvent(orderId, 1L,
+                List.of(new OrderReadyEvent.OrderItem("Soup", 1)), null);
+        return new ConsumerRecord<>(TOPIC, partition, offset, String.valueOf(orderId), event);
+    }
+}
@@ -0,0 +1,83 @@
+package com.restaurant.events;
+
+import org.apache.avro.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Local, file-based stand-in for a schema registry
+ *
+ * Loads every *.avsc file under a location (classpath*:avro/ by default, or a file: directory).
+ * KDS and Waiter Service both compile this class and the schemas in shared/order-events into
+ * their jars, so producer and consumer always ship the same schema files.
+ * The file name is the schema id and follows {subject}-v{version}, e.g. order-ready-v1.avsc.
+ * Producers write with the latest version of a subject and send its id in a record header;
+ * consumers look the writer schema up by that id.
+ */
+public class FileSchemaRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileSchemaRegistry.class);
+
+    private static final String CLASSPATH = "classpath:";
+    private static final String CLASSPATH_ALL = "classpath*:";
+    private static final Pattern SCHEMA_ID = Pattern.compile("(.+)-v(\\d+)");
+
+    private final Map<String, Schema> schemasById = new HashMap<>();
+    private final Map<String, String> latestIdBySubject = new HashMap<>();
+
+    public FileSchemaRegistry(String location) {
+        // classpath: only searches the first classpath root that has the directory (in tests that can
+        // be test-classes/avro/ without any schema), so always search every root
+        String searched = location.startsWith(CLASSPATH) ? CLASSPATH_ALL + location.substring(CLASSPATH.length()) : location;
+        String pattern = (searched.endsWith("/") ? searched : searched + "/") + "*.avsc";
+        try {
+            Map<String, Integer> latestVersions = new HashMap<>();
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(pattern)) {
+                String id = resource.getFilename().substring(0, resource.getFilename().length() - ".avsc".length());
+                Matcher matcher = SCHEMA_ID.matcher(id);
+                if (!matcher.matches()) {
+                    logger.warn("Ignoring schema file {} (expected {subject}-v{version}.avsc)", resource.getFilename());
+                    continue;
+                }
+                try (InputStream in = resource.getInputStream()) {
+                    schemasById.put(id, new Schema.Parser().parse(in));
+                }
+
+                String subject = matcher.group(1);
+                int version = Integer.parseInt(matcher.group(2));
+                if (version > latestVersions.getOrDefault(subject, 0)) {
+                    latestVersions.put(subject, version);
+                    latestIdBySubject.put(subject, id);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load Avro schemas from " + pattern, e);
+        }
+        logger.info("Loaded Avro schemas {} from {}", schemasById.keySet(), location);
+    }
+
+    public Optional<Schema> getSchema(String id) {
+        return Optional.ofNullable(schemasById.get(id));
+    }
+
+    /**
+     * Id of the latest version of a subject
+     */
+    public String getLatestId(String subject) {
+        String id = latestIdBySubject.get(subject);
+        if (id == null) {
+            throw new IllegalStateException("No Avro schema registered for subject " + subject);
+        }
+        return id;
+    }
+}